@@ -0,0 +1,106 @@
+package com.example.taskapprovalsystem;
+
+import com.example.taskapprovalsystem.dto.ApproverStatusRow;
+import com.example.taskapprovalsystem.dto.CommentResponse;
+import com.example.taskapprovalsystem.dto.TaskRow;
+import com.example.taskapprovalsystem.entity.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds detached task graphs of a given shape for the benchmarks.
+ */
+public final class BenchmarkTasks {
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 9, 30);
+
+    private BenchmarkTasks() {
+    }
+
+    public static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("User " + id);
+        user.setEmail("user" + id + "@example.com");
+        return user;
+    }
+
+    /**
+     * Returns a task with {@code approvers} approvers, the first {@code approvals} of which have
+     * approved, and {@code comments} comments.
+     */
+    public static Task task(long id, int approvers, int approvals, int comments) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Quarterly budget review " + id);
+        task.setDescription("Review and sign off the quarterly budget for cost centre " + id);
+        task.setStatus(approvals >= approvers ? TaskStatus.APPROVED : TaskStatus.PENDING);
+        task.setCreatedAt(CREATED_AT);
+        task.setCreator(user(1));
+        task.setCommentCount(comments);
+
+        for (int i = 0; i < approvers; i++) {
+            User approver = user(100 + i);
+            task.getApprovers().add(approver);
+            if (i < approvals) {
+                Approval approval = new Approval();
+                approval.setId(id * 1000 + i);
+                approval.setTask(task);
+                approval.setApprover(approver);
+                approval.setApprovalDate(CREATED_AT.plusHours(i));
+                approval.setApproved(true);
+                task.getApprovals().add(approval);
+            }
+        }
+        task.setApprovalCount(task.getApprovals().size());
+
+        for (int i = 0; i < comments; i++) {
+            Comment comment = new Comment();
+            comment.setId(id * 1000 + i);
+            comment.setTask(task);
+            comment.setUser(user(100 + i % Math.max(1, approvers)));
+            comment.setContent("Looks fine to me, one question about line item " + i);
+            comment.setCreatedAt(CREATED_AT.plusMinutes(i));
+            task.getComments().add(comment);
+        }
+        return task;
+    }
+
+    /**
+     * The task projection row {@code TaskViewRepository#findTaskRows} returns for a task.
+     */
+    public static TaskRow taskRow(long id, int comments) {
+        return new TaskRow(id, "Quarterly budget review " + id,
+                "Review and sign off the quarterly budget for cost centre " + id,
+                TaskStatus.PENDING, 3, comments, 1L, "User 1", "user1@example.com");
+    }
+
+    /**
+     * Approver status rows for a task with {@code approvers} approvers, the first {@code approvals}
+     * of which have approved, in approver order as queried.
+     */
+    public static List<ApproverStatusRow> approverRows(long taskId, int approvers, int approvals) {
+        List<ApproverStatusRow> rows = new ArrayList<>(approvers);
+        for (int i = 0; i < approvers; i++) {
+            long approverId = 100 + i;
+            boolean approved = i < approvals;
+            rows.add(new ApproverStatusRow(taskId, approverId, "User " + approverId, "user" + approverId + "@example.com",
+                    approved ? taskId * 1000 + i : null, approved ? CREATED_AT.plusHours(i) : null));
+        }
+        return rows;
+    }
+
+    /**
+     * The latest {@code count} comments of a task, newest first as {@code findLatestComments} returns them.
+     */
+    public static List<CommentResponse> latestComments(long taskId, int count) {
+        List<CommentResponse> latest = new ArrayList<>(count);
+        for (int i = count - 1; i >= 0; i--) {
+            long authorId = 100 + i;
+            latest.add(new CommentResponse(taskId * 1000 + i, "Looks fine to me, one question about line item " + i,
+                    CREATED_AT.plusMinutes(i), authorId, "User " + authorId, taskId));
+        }
+        return latest;
+    }
+}
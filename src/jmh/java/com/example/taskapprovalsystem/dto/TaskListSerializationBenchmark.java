@@ -0,0 +1,65 @@
+package com.example.taskapprovalsystem.dto;
+
+import com.example.taskapprovalsystem.BenchmarkTasks;
+import com.example.taskapprovalsystem.service.TaskQueryService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a task list page as returned by {@code GET /api/tasks}, with the
+ * mapper configured the way Spring Boot configures it for the web layer. The page is assembled
+ * from projection rows the way {@link TaskQueryService} builds it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskListSerializationBenchmark {
+    @Param({"20", "100"})
+    private int tasks;
+
+    @Param({"3", "25"})
+    private int approvers;
+
+    @Param({"0", "3"})
+    private int commentPreview;
+
+    private ObjectMapper objectMapper;
+    private TaskPageResponse page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        List<Long> taskIds = new ArrayList<>(tasks);
+        List<TaskRow> taskRows = new ArrayList<>(tasks);
+        List<ApproverStatusRow> approverRows = new ArrayList<>(tasks * approvers);
+        for (long id = tasks; id >= 1; id--) {
+            taskIds.add(id);
+            taskRows.add(BenchmarkTasks.taskRow(id, commentPreview * 4));
+            approverRows.addAll(BenchmarkTasks.approverRows(id, approvers, approvers / 2));
+        }
+        List<TaskResponse> responses = TaskQueryService.assemble(taskIds, taskRows, approverRows);
+        for (TaskResponse response : responses) {
+            TaskQueryService.attachLatestComments(response, BenchmarkTasks.latestComments(response.getId(), commentPreview));
+        }
+        page = new TaskPageResponse(responses, "1", true);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.BenchmarkTasks;
+import com.example.taskapprovalsystem.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The approver diff done by {@link TaskService#updateTask} when an update names approvers:
+ * half of the requested approvers are already on the task, half are new.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApproverDiffBenchmark {
+    @Param({"3", "25", "200"})
+    private int currentApprovers;
+
+    @Param({"2", "20", "200"})
+    private int requestedApprovers;
+
+    private Set<User> approvers;
+    private List<Long> requestedIds;
+
+    @Setup
+    public void setUp() {
+        approvers = BenchmarkTasks.task(1, currentApprovers, 0, 0).getApprovers();
+        List<User> current = new ArrayList<>(approvers);
+        requestedIds = new ArrayList<>(requestedApprovers);
+        for (int i = 0; i < requestedApprovers; i++) {
+            requestedIds.add(i % 2 == 0 && i / 2 < current.size() ? current.get(i / 2).getId() : 10_000L + i);
+        }
+    }
+
+    @Benchmark
+    public Set<Long> addedApproverIds() {
+        return TaskService.addedApproverIds(approvers, requestedIds);
+    }
+}
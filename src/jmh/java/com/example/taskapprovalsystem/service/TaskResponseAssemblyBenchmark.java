@@ -0,0 +1,63 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.BenchmarkTasks;
+import com.example.taskapprovalsystem.dto.ApproverStatusRow;
+import com.example.taskapprovalsystem.dto.CommentResponse;
+import com.example.taskapprovalsystem.dto.TaskResponse;
+import com.example.taskapprovalsystem.dto.TaskRow;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of assembling task views from the projection rows in {@link TaskQueryService}, for a page of
+ * tasks of increasing size, and of attaching the latest-comments preview of a single task view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskResponseAssemblyBenchmark {
+    @Param({"1", "20", "100"})
+    private int tasks;
+
+    @Param({"3", "25", "200"})
+    private int approvers;
+
+    @Param({"0", "50", "100"})
+    private int approvedPercent;
+
+    private List<Long> taskIds;
+    private List<TaskRow> taskRows;
+    private List<ApproverStatusRow> approverRows;
+    private List<CommentResponse> latestComments;
+
+    @Setup
+    public void setUp() {
+        taskIds = new ArrayList<>(tasks);
+        taskRows = new ArrayList<>(tasks);
+        approverRows = new ArrayList<>(tasks * approvers);
+        for (long id = tasks; id >= 1; id--) {
+            taskIds.add(id);
+            taskRows.add(BenchmarkTasks.taskRow(id, 20));
+            approverRows.addAll(BenchmarkTasks.approverRows(id, approvers, approvers * approvedPercent / 100));
+        }
+        latestComments = BenchmarkTasks.latestComments(1, 20);
+    }
+
+    @Benchmark
+    public List<TaskResponse> assemblePage() {
+        return TaskQueryService.assemble(taskIds, taskRows, approverRows);
+    }
+
+    @Benchmark
+    public TaskResponse attachCommentPreview() {
+        TaskResponse response = new TaskResponse();
+        TaskQueryService.attachLatestComments(response, latestComments);
+        return response;
+    }
+}
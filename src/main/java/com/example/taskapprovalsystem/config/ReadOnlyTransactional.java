@@ -0,0 +1,16 @@
+package com.example.taskapprovalsystem.config;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.*;
+
+/**
+ * Read-only transaction, which {@link ReplicaRoutingDataSource} may serve from a replica.
+ * {@code jakarta.transaction.Transactional} has no read-only flag, so read paths use this instead.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+public @interface ReadOnlyTransactional {
+}
@@ -0,0 +1,72 @@
+package com.example.taskapprovalsystem.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Read-your-writes for replica routing. A request that may write sets a short-lived cookie, and
+ * while the client sends it back its reads stay on the primary, so it never sees a replica that has
+ * not caught up with its own change yet. {@code datasource.replicas.pin-seconds} should cover the
+ * replicas' worst expected lag.
+ */
+@Component
+@ConditionalOnProperty("datasource.replicas.urls")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    static final String COOKIE_NAME = "read-primary";
+
+    private final int pinSeconds;
+
+    public ReadYourWritesFilter(@Value("${datasource.replicas.pin-seconds:5}") int pinSeconds) {
+        this.pinSeconds = pinSeconds;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean write = !"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod());
+        if (write) {
+            // set before the handler runs, the response may be committed by the time it returns
+            Cookie cookie = new Cookie(COOKIE_NAME, "1");
+            cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+            cookie.setMaxAge(pinSeconds);
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+        if (!write && !hasPinCookie(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ReplicaRoutingDataSource.pinToPrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.clearPin();
+        }
+    }
+
+    private static boolean hasPinCookie(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return false;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.taskapprovalsystem.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Hibernate second-level cache on local Caffeine caches behind JCache. Regions are created here with
+ * the sizes and TTLs from {@link SecondLevelCacheProperties}; the update-timestamps region that keeps
+ * the query cache consistent never expires. Entity updates, including bulk JPQL updates, invalidate
+ * the affected entries through Hibernate, so cached reads never return data older than the last
+ * committed write from this instance.
+ *
+ * <p>Tasks are not cached: every approval and comment bumps the task's counters with a bulk JPQL
+ * update, and Hibernate answers a bulk update by evicting the entity's whole region, so a task
+ * cache would be emptied by each write anywhere.
+ */
+@Configuration
+@Slf4j
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+    static final String[] REGIONS = {"users", "default-query-results-region"};
+    static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(SecondLevelCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        for (String region : REGIONS) {
+            SecondLevelCacheProperties.Region settings = properties.getRegions()
+                    .getOrDefault(region, new SecondLevelCacheProperties.Region());
+            long maximumSize = settings.getMaximumSize() == null ? properties.getDefaultMaximumSize() : settings.getMaximumSize();
+            Duration timeToLive = settings.getTimeToLive() == null ? properties.getDefaultTimeToLive() : settings.getTimeToLive();
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maximumSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+            createCache(cacheManager, region, configuration);
+            log.info("Second-level cache region {} holds up to {} entries for {}", region, maximumSize, timeToLive);
+        }
+        createCache(cacheManager, TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    /**
+     * Publishes {@code hibernate.cache.hit.ratio} per region, next to the request counters
+     * Hibernate's own meters report.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bindHitRatios(ApplicationReadyEvent event) {
+        MeterRegistry meterRegistry = event.getApplicationContext().getBean(MeterRegistry.class);
+        Statistics statistics = event.getApplicationContext().getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactory.class).getStatistics();
+        for (String region : REGIONS) {
+            CacheRegionStatistics regionStatistics = region.equals("default-query-results-region")
+                    ? statistics.getQueryRegionStatistics(region) : statistics.getDomainDataRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            Gauge.builder("hibernate.cache.hit.ratio", regionStatistics, hitRatio())
+                    .tag("region", region)
+                    .description("Share of second-level cache lookups answered from the cache")
+                    .register(meterRegistry);
+        }
+    }
+
+    private static ToDoubleFunction<CacheRegionStatistics> hitRatio() {
+        return stats -> {
+            long lookups = stats.getHitCount() + stats.getMissCount();
+            return lookups == 0 ? Double.NaN : (double) stats.getHitCount() / lookups;
+        };
+    }
+
+    private static void createCache(CacheManager cacheManager, String region, CaffeineConfiguration<Object, Object> configuration) {
+        configuration.setStatisticsEnabled(true);
+        if (cacheManager.getCache(region) == null) {
+            cacheManager.createCache(region, configuration);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.taskapprovalsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size and time-to-live of each Hibernate second-level cache region, keyed by region name
+ * ({@code hibernate.cache.regions.users.maximum-size=50000}). Regions not listed use the defaults.
+ */
+@Data
+@ConfigurationProperties("hibernate.cache")
+public class SecondLevelCacheProperties {
+    private long defaultMaximumSize = 10_000;
+    private Duration defaultTimeToLive = Duration.ofMinutes(10);
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+        private Long maximumSize;
+        private Duration timeToLive;
+    }
+}
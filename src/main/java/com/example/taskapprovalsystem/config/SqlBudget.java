@@ -0,0 +1,16 @@
+package com.example.taskapprovalsystem.config;
+
+import java.lang.annotation.*;
+
+/**
+ * Maximum number of SQL statements a request to the annotated handler may issue. Handlers
+ * without it fall back to {@code sql.budget.default-max}.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlBudget {
+    int UNLIMITED = Integer.MAX_VALUE;
+
+    int value();
+}
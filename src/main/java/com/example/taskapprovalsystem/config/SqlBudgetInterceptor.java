@@ -0,0 +1,37 @@
+package com.example.taskapprovalsystem.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies the handler's {@link SqlBudget} (or the default budget) to the statement count that
+ * {@link SqlStatementMetricsFilter} started for the request.
+ */
+@Component
+public class SqlBudgetInterceptor implements HandlerInterceptor {
+    private final SqlBudgetMode mode;
+    private final int defaultBudget;
+
+    public SqlBudgetInterceptor(@Value("${sql.budget.mode:RECORD}") SqlBudgetMode mode,
+                                @Value("${sql.budget.default-max:50}") int defaultBudget) {
+        this.mode = mode;
+        this.defaultBudget = defaultBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            SqlBudget budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getMethod(), SqlBudget.class);
+            if (budget == null) {
+                budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), SqlBudget.class);
+            }
+            SqlStatementCounter.limitTo(budget == null ? defaultBudget : budget.value(), mode == SqlBudgetMode.REJECT);
+        }
+        return true;
+    }
+}
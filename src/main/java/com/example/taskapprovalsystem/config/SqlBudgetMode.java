@@ -0,0 +1,13 @@
+package com.example.taskapprovalsystem.config;
+
+/**
+ * What to do when a request goes over its SQL statement budget or looks like an N+1.
+ */
+public enum SqlBudgetMode {
+    /** Only record metrics. */
+    RECORD,
+    /** Record metrics and log a warning. */
+    LOG,
+    /** Record metrics, log, and fail the statement that goes over budget. */
+    REJECT
+}
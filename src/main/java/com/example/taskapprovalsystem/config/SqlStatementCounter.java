@@ -0,0 +1,136 @@
+package com.example.taskapprovalsystem.config;
+
+import com.example.taskapprovalsystem.exception.SqlBudgetExceededException;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hibernate statement inspector that counts the SQL statements prepared on the current thread
+ * between {@link #start()} and {@link #stop()}. Statements are passed through unchanged, and
+ * threads that have not started counting are not tracked. Counting scopes nest: a scope started
+ * inside another one (e.g. a test around a request) is added to the outer scope when it stops.
+ */
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<Tally> CURRENT = new ThreadLocal<>();
+
+    public static void start() {
+        CURRENT.set(new Tally(CURRENT.get()));
+    }
+
+    /**
+     * Stops the innermost counting scope on the current thread and returns what it saw.
+     */
+    public static Tally stop() {
+        Tally tally = CURRENT.get();
+        if (tally == null) {
+            return new Tally(null);
+        }
+        if (tally.parent == null) {
+            CURRENT.remove();
+        } else {
+            tally.parent.add(tally);
+            CURRENT.set(tally.parent);
+        }
+        return tally;
+    }
+
+    public static int current() {
+        Tally tally = CURRENT.get();
+        return tally == null ? 0 : tally.statements;
+    }
+
+    /**
+     * Sets the statement budget of the innermost scope. When {@code enforce} is set, the statement
+     * that goes over the budget fails with {@link SqlBudgetExceededException}.
+     */
+    public static void limitTo(int budget, boolean enforce) {
+        Tally tally = CURRENT.get();
+        if (tally != null) {
+            tally.budget = budget;
+            tally.enforce = enforce;
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Tally tally = CURRENT.get();
+        if (tally != null) {
+            tally.record(sql);
+            if (tally.enforce && tally.statements > tally.budget) {
+                throw new SqlBudgetExceededException(tally.statements, tally.budget);
+            }
+        }
+        return sql;
+    }
+
+    public static final class Tally {
+        private final Tally parent;
+        private final Map<String, Integer> selects = new HashMap<>();
+        private int statements;
+        private int budget = -1;
+        private boolean enforce;
+
+        private Tally(Tally parent) {
+            this.parent = parent;
+        }
+
+        private void record(String sql) {
+            statements++;
+            if (sql.stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                selects.merge(sql, 1, Integer::sum);
+            }
+        }
+
+        private void add(Tally child) {
+            statements += child.statements;
+            child.selects.forEach((sql, count) -> selects.merge(sql, count, Integer::sum));
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        /**
+         * Returns the budget set for this scope, or -1 when it has none.
+         */
+        public int getBudget() {
+            return budget;
+        }
+
+        public boolean isOverBudget() {
+            return budget >= 0 && statements > budget;
+        }
+
+        /**
+         * Returns how often the most repeated SELECT ran; a high number usually means an N+1.
+         */
+        public int getMaxSelectRepeats() {
+            return selects.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        }
+
+        /**
+         * Returns the distinct SELECTs this scope ran, as they were sent to the database.
+         */
+        public Set<String> getSelects() {
+            return Collections.unmodifiableSet(selects.keySet());
+        }
+
+        public String getMostRepeatedSelect() {
+            return selects.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%d statements (budget %d, most repeated select x%d)",
+                    statements, budget, getMaxSelectRepeats());
+        }
+    }
+}
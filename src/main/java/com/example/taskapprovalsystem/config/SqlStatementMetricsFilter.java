@@ -0,0 +1,82 @@
+package com.example.taskapprovalsystem.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Counts the SQL statements each API request issues and records them as
+ * {@code http.server.sql.statements} tagged with the method and the matched URI pattern. Requests
+ * over their {@link SqlBudget} and requests that repeat one SELECT at least
+ * {@code sql.n-plus-one.threshold} times are counted separately, and logged unless
+ * {@code sql.budget.mode} is {@link SqlBudgetMode#RECORD}.
+ */
+@Component
+@Slf4j
+public class SqlStatementMetricsFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+    private final SqlBudgetMode mode;
+    private final int nPlusOneThreshold;
+
+    public SqlStatementMetricsFilter(MeterRegistry meterRegistry,
+                                     @Value("${sql.budget.mode:RECORD}") SqlBudgetMode mode,
+                                     @Value("${sql.n-plus-one.threshold:5}") int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.mode = mode;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(request.getContextPath() + "/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementCounter.Tally tally = SqlStatementCounter.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+            record(request.getMethod(), uri, tally);
+        }
+    }
+
+    private void record(String method, String uri, SqlStatementCounter.Tally tally) {
+        DistributionSummary.builder("http.server.sql.statements")
+                .description("SQL statements issued while handling one request")
+                .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100)
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(tally.getStatements());
+
+        if (tally.isOverBudget()) {
+            meterRegistry.counter("http.server.sql.budget.exceeded", "method", method, "uri", uri).increment();
+            if (mode != SqlBudgetMode.RECORD) {
+                log.warn("{} {} issued {} SQL statements, over its budget of {}",
+                        method, uri, tally.getStatements(), tally.getBudget());
+            }
+        }
+        if (tally.getMaxSelectRepeats() >= nPlusOneThreshold) {
+            meterRegistry.counter("http.server.sql.n_plus_one", "method", method, "uri", uri).increment();
+            if (mode != SqlBudgetMode.RECORD) {
+                log.warn("Possible N+1 in {} {}: the same query ran {} times: {}",
+                        method, uri, tally.getMaxSelectRepeats(), tally.getMostRepeatedSelect());
+            }
+        }
+    }
+}
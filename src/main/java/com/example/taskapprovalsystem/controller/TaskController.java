@@ -1,16 +1,32 @@
 package com.example.taskapprovalsystem.controller;
 
+import com.example.taskapprovalsystem.config.ReadOnlyTransactional;
+import com.example.taskapprovalsystem.config.SqlBudget;
 import com.example.taskapprovalsystem.dto.*;
 import com.example.taskapprovalsystem.entity.Comment;
 import com.example.taskapprovalsystem.entity.Task;
+import com.example.taskapprovalsystem.entity.TaskStatus;
+import com.example.taskapprovalsystem.service.TaskChangeBroadcaster;
+import com.example.taskapprovalsystem.service.TaskQueryService;
 import com.example.taskapprovalsystem.service.TaskService;
+import com.example.taskapprovalsystem.service.TaskSyncService;
+import com.example.taskapprovalsystem.service.UserSummaryCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,11 +36,22 @@ import java.util.stream.Collectors;
 @Transactional
 public class TaskController {
     private final TaskService taskService;
+    private final TaskQueryService taskQueryService;
+    private final UserSummaryCache userSummaryCache;
+    private final TaskChangeBroadcaster taskChangeBroadcaster;
+    private final TaskSyncService taskSyncService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskQueryService taskQueryService,
+                          UserSummaryCache userSummaryCache, TaskChangeBroadcaster taskChangeBroadcaster,
+                          TaskSyncService taskSyncService) {
         this.taskService = taskService;
+        this.taskQueryService = taskQueryService;
+        this.userSummaryCache = userSummaryCache;
+        this.taskChangeBroadcaster = taskChangeBroadcaster;
+        this.taskSyncService = taskSyncService;
     }
 
+    @SqlBudget(15)
     @PostMapping
     @Operation(summary = "Create a new task")
     @ApiResponse(responseCode = "200", description = "Task created successfully")
@@ -34,19 +61,58 @@ public class TaskController {
             @RequestBody TaskDTO taskDTO,
             @RequestParam Long creatorId) {
         Task task = taskService.createTask(taskDTO, creatorId);
-        return ResponseEntity.ok(new TaskResponse(task));
+        return ResponseEntity.ok(new TaskResponse(task, userSummaryCache.find(creatorId).orElse(null)));
     }
 
+    @SqlBudget(SqlBudget.UNLIMITED)
+    @PostMapping("/batch")
+    @Operation(summary = "Create many tasks in one request")
+    @ApiResponse(responseCode = "200", description = "Tasks created successfully")
+    @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    @ApiResponse(responseCode = "404", description = "Creator or approvers not found")
+    public ResponseEntity<TaskBatchResponse> createTasks(
+            @RequestBody List<TaskDTO> taskDTOs,
+            @RequestParam Long creatorId) {
+        List<Task> tasks = taskService.createTasks(taskDTOs, creatorId);
+        List<Long> taskIds = tasks.stream()
+                .map(Task::getId)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(new TaskBatchResponse(taskIds.size(), taskIds));
+    }
+
+    @SqlBudget(12)
     @PostMapping("/{taskId}/approve")
     @Operation(summary = "Approve task")
     @ApiResponse(responseCode = "200", description = "Task approved successfully")
+    @ApiResponse(responseCode = "409", description = "Already approved, or task kept changing concurrently")
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public ResponseEntity<TaskResponse> approveTask(
             @PathVariable Long taskId,
             @RequestParam Long approverId) {
-        Task task = taskService.approveTask(taskId, approverId);
-        return ResponseEntity.ok(new TaskResponse(task));
+        TaskResponse response = taskService.approveTask(taskId, approverId,
+                task -> taskQueryService.getTask(task.getId()));
+        return ResponseEntity.ok().eTag(TaskETags.of(response.getVersion())).body(response);
+    }
+
+    @SqlBudget(SqlBudget.UNLIMITED)
+    @PostMapping("/approve-batch")
+    @Operation(summary = "Approve many tasks as one approver")
+    @ApiResponse(responseCode = "200", description = "Per-task approval results")
+    @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    @ApiResponse(responseCode = "404", description = "Approver not found")
+    @ApiResponse(responseCode = "409", description = "Some tasks were approved concurrently")
+    public ResponseEntity<ApprovalBatchResponse> approveTasks(
+            @RequestBody List<Long> taskIds,
+            @RequestParam Long approverId) {
+        List<TaskApprovalResult> results = taskService.approveTasks(taskIds, approverId);
+        int approved = (int) results.stream()
+                .filter(result -> result.getOutcome() == ApprovalOutcome.APPROVED
+                        || result.getOutcome() == ApprovalOutcome.FULLY_APPROVED)
+                .count();
+        return ResponseEntity.ok(new ApprovalBatchResponse(approverId, approved, results));
     }
 
+    @SqlBudget(7)
     @PostMapping("/{taskId}/comments")
     @Operation(summary = "Add a comment to the task")
     @ApiResponse(responseCode = "200", description = "Comment added successfully")
@@ -55,38 +121,115 @@ public class TaskController {
             @RequestParam Long userId,
             @RequestBody CommentDTO commentDTO) {
         Comment comment = taskService.addComment(taskId, userId, commentDTO);
-        return ResponseEntity.ok(new CommentResponse(comment));
+        return ResponseEntity.ok(new CommentResponse(comment, userSummaryCache.find(userId).orElseThrow()));
     }
 
+    @SqlBudget(3)
+    @GetMapping("/{taskId}/comments")
+    @Operation(summary = "List the comments of a task page by page, oldest first")
+    @ApiResponse(responseCode = "200", description = "Comments retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    @ReadOnlyTransactional
+    public ResponseEntity<CommentPageResponse> listComments(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        Slice<CommentResponse> page = taskQueryService.listComments(taskId, cursor, size);
+        String nextCursor = page.hasNext()
+                ? CommentCursor.of(page.getContent().get(page.getNumberOfElements() - 1)).encode() : null;
+        return ResponseEntity.ok(new CommentPageResponse(page.getContent(), nextCursor, page.hasNext()));
+    }
+
+    @SqlBudget(0)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream task changes (created, updated, approval recorded, status changed, comment added) "
+            + "as Server-Sent Events, optionally only for the given tasks or for tasks of one approver")
+    @ApiResponse(responseCode = "200", description = "Stream opened")
+    @ApiResponse(responseCode = "503", description = "Too many open streams, retry after the Retry-After delay")
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public SseEmitter streamTaskChanges(
+            @RequestParam(required = false) List<Long> taskIds,
+            @RequestParam(required = false) Long approverId) {
+        return taskChangeBroadcaster.subscribe(taskIds == null ? null : new HashSet<>(taskIds), approverId);
+    }
+
+    @SqlBudget(4)
+    @GetMapping("/changes")
+    @Operation(summary = "Tasks and comments changed since a sync token; omit since for a full sync")
+    @ApiResponse(responseCode = "200", description = "Changes retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Invalid sync token")
+    public ResponseEntity<TaskChangesResponse> getChanges(
+            @RequestParam(required = false) Long since,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(taskSyncService.listChanges(since, size));
+    }
+
+    @SqlBudget(3)
+    @GetMapping("/search")
+    @Operation(summary = "Search task titles, descriptions and comments, best match first")
+    @ApiResponse(responseCode = "200", description = "Matching tasks retrieved successfully")
+    @ApiResponse(responseCode = "400", description = "Empty search query")
+    @ReadOnlyTransactional
+    public ResponseEntity<TaskSearchResponse> searchTasks(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(taskQueryService.searchTasks(q, page, size));
+    }
+
+    @SqlBudget(5)
     @GetMapping("/{taskId}")
     @Operation(summary = "Get task by ID")
     @ApiResponse(responseCode = "200", description = "Task retrieved successfully")
+    @ApiResponse(responseCode = "304", description = "Task unchanged since the ETag in If-None-Match")
     @ApiResponse(responseCode = "404", description = "Task not found")
-    public ResponseEntity<TaskResponse> getTask(@PathVariable Long taskId) {
-        Task task = taskService.getTask(taskId);
-        return ResponseEntity.ok(new TaskResponse(task));
+    @ReadOnlyTransactional
+    public ResponseEntity<TaskResponse> getTask(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) Integer commentPreview,
+            WebRequest webRequest) {
+        String eTag = TaskETags.of(taskQueryService.getVersion(taskId));
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        TaskResponse response = taskQueryService.getTask(taskId, commentPreview);
+        return ResponseEntity.ok().eTag(TaskETags.of(response.getVersion())).body(response);
     }
 
+    @SqlBudget(4)
     @GetMapping
-    @Operation(summary = "Get all tasks")
+    @Operation(summary = "List tasks page by page, newest first; pass nextCursor as cursor for the next page")
     @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully")
-    public ResponseEntity<List<TaskResponse>> getAllTasks() {
-        List<Task> tasks = taskService.getAllTasks();
-        List<TaskResponse> responses = tasks.stream()
-                .map(TaskResponse::new)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    @ReadOnlyTransactional
+    public ResponseEntity<TaskPageResponse> listTasks(
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Long creatorId,
+            @RequestParam(required = false) Long approverId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        TaskFilter filter = new TaskFilter(status, creatorId, approverId, createdFrom, createdTo);
+        return ResponseEntity.ok(taskQueryService.listTasks(filter, cursor, size));
     }
 
+    @SqlBudget(15)
     @PatchMapping("/{taskId}")
     @Operation(summary = "Update task details")
     @ApiResponse(responseCode = "200", description = "Task updated successfully")
     @ApiResponse(responseCode = "404", description = "Task not found")
+    @ApiResponse(responseCode = "409", description = "Task kept changing concurrently")
+    @ApiResponse(responseCode = "412", description = "Task no longer matches the ETag in If-Match")
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public ResponseEntity<TaskResponse> updateTask(
             @PathVariable Long taskId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody TaskUpdateDTO updateDTO) {
-        Task updatedTask = taskService.updateTask(taskId, updateDTO);
-        return ResponseEntity.ok(new TaskResponse(updatedTask));
+        TaskResponse response = taskService.updateTask(taskId, updateDTO, TaskETags.versionsFromIfMatch(ifMatch),
+                task -> taskQueryService.getTask(task.getId()));
+        return ResponseEntity.ok().eTag(TaskETags.of(response.getVersion())).body(response);
     }
 
 }
\ No newline at end of file
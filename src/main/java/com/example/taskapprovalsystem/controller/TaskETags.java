@@ -0,0 +1,45 @@
+package com.example.taskapprovalsystem.controller;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Strong entity tags for task resources, derived from the task's optimistic-lock version. Every change
+ * that is visible in a task view (edits, approvals, status changes, new comments) bumps that version.
+ */
+final class TaskETags {
+
+    private TaskETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the versions named by the strong tags of an {@code If-Match} header, or {@code null} when
+     * the header is absent or {@code *}. Weak and unparsable tags never match a task, so a header made
+     * only of those yields an empty set.
+     */
+    static Set<Long> versionsFromIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        Set<Long> versions = new HashSet<>();
+        for (String element : ifMatch.split(",")) {
+            String tag = element.trim();
+            if (tag.equals("*")) {
+                return null;
+            }
+            if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+                continue;
+            }
+            try {
+                versions.add(Long.parseLong(tag.substring(1, tag.length() - 1)));
+            } catch (NumberFormatException e) {
+                // not one of ours, so it cannot match
+            }
+        }
+        return versions;
+    }
+}
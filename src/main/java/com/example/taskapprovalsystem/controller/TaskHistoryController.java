@@ -0,0 +1,50 @@
+package com.example.taskapprovalsystem.controller;
+
+import com.example.taskapprovalsystem.config.SqlBudget;
+import com.example.taskapprovalsystem.dto.TaskEventPageResponse;
+import com.example.taskapprovalsystem.dto.TaskEventResponse;
+import com.example.taskapprovalsystem.dto.TaskState;
+import com.example.taskapprovalsystem.service.TaskHistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tasks/{taskId}")
+@Tag(name = "Task History")
+public class TaskHistoryController {
+    private final TaskHistoryService taskHistoryService;
+
+    public TaskHistoryController(TaskHistoryService taskHistoryService) {
+        this.taskHistoryService = taskHistoryService;
+    }
+
+    @SqlBudget(2)
+    @GetMapping("/events")
+    @Operation(summary = "The task's audit timeline, oldest event first; pass nextCursor as after for the next page")
+    @ApiResponse(responseCode = "200", description = "Events retrieved successfully")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    public ResponseEntity<TaskEventPageResponse> getEvents(
+            @PathVariable Long taskId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        Slice<TaskEventResponse> page = taskHistoryService.getTimeline(taskId, after, size);
+        List<TaskEventResponse> events = page.getContent();
+        Long nextCursor = page.hasNext() ? events.get(events.size() - 1).getId() : null;
+        return ResponseEntity.ok(new TaskEventPageResponse(events, nextCursor, page.hasNext()));
+    }
+
+    @SqlBudget(2)
+    @GetMapping("/state")
+    @Operation(summary = "The task as rebuilt from its latest snapshot and the events after it")
+    @ApiResponse(responseCode = "200", description = "State rebuilt successfully")
+    @ApiResponse(responseCode = "404", description = "No history recorded for the task")
+    public ResponseEntity<TaskState> getState(@PathVariable Long taskId) {
+        return ResponseEntity.ok(taskHistoryService.getState(taskId));
+    }
+}
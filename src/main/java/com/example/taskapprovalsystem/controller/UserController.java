@@ -1,16 +1,29 @@
 package com.example.taskapprovalsystem.controller;
 
+import com.example.taskapprovalsystem.config.ReadOnlyTransactional;
+import com.example.taskapprovalsystem.config.SqlBudget;
+import com.example.taskapprovalsystem.dto.PendingApprovalCountResponse;
+import com.example.taskapprovalsystem.dto.TaskPageResponse;
+import com.example.taskapprovalsystem.dto.TaskResponse;
 import com.example.taskapprovalsystem.dto.UserDTO;
+import com.example.taskapprovalsystem.dto.UserImportFormat;
+import com.example.taskapprovalsystem.dto.UserImportResponse;
 import com.example.taskapprovalsystem.dto.UserResponse;
 import com.example.taskapprovalsystem.entity.User;
+import com.example.taskapprovalsystem.service.TaskQueryService;
+import com.example.taskapprovalsystem.service.UserImportService;
 import com.example.taskapprovalsystem.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,29 +32,82 @@ import java.util.stream.Collectors;
 @Tag(name = "User Management")
 @Transactional
 public class UserController {
+    private static final String CSV = "text/csv";
+    private static final String NDJSON = "application/x-ndjson";
+
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final TaskQueryService taskQueryService;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserImportService userImportService,
+                          TaskQueryService taskQueryService) {
         this.userService = userService;
+        this.userImportService = userImportService;
+        this.taskQueryService = taskQueryService;
     }
 
+    @SqlBudget(3)
     @PostMapping("/signup")
     @Operation(summary = "Create a new user")
     @ApiResponse(responseCode = "200", description = "User added successfully")
     @ApiResponse(responseCode = "400", description = "Invalid user request")
+    @ApiResponse(responseCode = "503", description = "Too many signups in progress, retry after the Retry-After delay")
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public ResponseEntity<UserResponse> createUser(@RequestBody UserDTO userDTO) {
         User user = userService.createUser(userDTO);
         return ResponseEntity.ok(new UserResponse(user));
     }
 
+    @SqlBudget(SqlBudget.UNLIMITED)
+    @PostMapping(value = "/import", consumes = {CSV, NDJSON})
+    @Operation(summary = "Bulk import users from a CSV (name,email,password header) or NDJSON stream")
+    @ApiResponse(responseCode = "200", description = "Import finished, failed rows are listed")
+    @ApiResponse(responseCode = "400", description = "CSV header is missing required columns")
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public ResponseEntity<UserImportResponse> importUsers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        UserImportFormat format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? UserImportFormat.CSV : UserImportFormat.NDJSON;
+        return ResponseEntity.ok(userImportService.importUsers(body, format));
+    }
+
+    @SqlBudget(2)
     @GetMapping
     @Operation(summary = "Get all users")
     @ApiResponse(responseCode = "200", description = "Users fetched successfully")
     @ApiResponse(responseCode = "404", description = "User not found")
+    @ReadOnlyTransactional
     public ResponseEntity<List<UserResponse>> getAllUsers() {
         List<UserResponse> users = userService.getAllUsers().stream()
                 .map(UserResponse::new)
                 .collect(Collectors.toList());
         return ResponseEntity.ok(users);
     }
+
+    @SqlBudget(4)
+    @GetMapping("/{userId}/pending-approvals")
+    @Operation(summary = "List the tasks waiting on this user's approval, newest first; pass nextCursor as cursor for the next page")
+    @ApiResponse(responseCode = "200", description = "Pending tasks fetched successfully")
+    @ApiResponse(responseCode = "404", description = "User not found")
+    @ReadOnlyTransactional
+    public ResponseEntity<TaskPageResponse> getPendingApprovals(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        Slice<TaskResponse> page = taskQueryService.listPendingApprovals(userId, cursor, size);
+        List<TaskResponse> tasks = page.getContent();
+        String nextCursor = page.hasNext() ? String.valueOf(tasks.get(tasks.size() - 1).getId()) : null;
+        return ResponseEntity.ok(new TaskPageResponse(tasks, nextCursor, page.hasNext()));
+    }
+
+    @SqlBudget(2)
+    @GetMapping("/{userId}/pending-approvals/count")
+    @Operation(summary = "Count the tasks waiting on this user's approval")
+    @ApiResponse(responseCode = "200", description = "Pending count fetched successfully")
+    @ApiResponse(responseCode = "404", description = "User not found")
+    @ReadOnlyTransactional
+    public ResponseEntity<PendingApprovalCountResponse> countPendingApprovals(@PathVariable Long userId) {
+        return ResponseEntity.ok(new PendingApprovalCountResponse(userId, taskQueryService.countPendingApprovals(userId)));
+    }
 }
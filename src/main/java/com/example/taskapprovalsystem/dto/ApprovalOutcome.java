@@ -0,0 +1,9 @@
+package com.example.taskapprovalsystem.dto;
+
+public enum ApprovalOutcome {
+    APPROVED,
+    FULLY_APPROVED,
+    ALREADY_APPROVED,
+    NOT_AN_APPROVER,
+    NOT_FOUND
+}
@@ -0,0 +1,25 @@
+package com.example.taskapprovalsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How a task becomes approved. QUORUM needs {@code minApprovals} approvals, ALL needs every
+ * approver, WEIGHTED needs the approvers' {@code weights} (1 when not listed) to add up to
+ * {@code minWeight}, and REQUIRED_APPROVERS needs every approver in {@code requiredApproverIds}
+ * plus at least {@code minApprovals} approvals overall.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApprovalPolicyDTO {
+    private ApprovalPolicyType type;
+    private Integer minApprovals;
+    private Integer minWeight;
+    private Map<Long, Integer> weights;
+    private List<Long> requiredApproverIds;
+}
@@ -0,0 +1,8 @@
+package com.example.taskapprovalsystem.dto;
+
+public enum ApprovalPolicyType {
+    QUORUM,
+    ALL,
+    WEIGHTED,
+    REQUIRED_APPROVERS
+}
@@ -0,0 +1,19 @@
+package com.example.taskapprovalsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApproverStatusRow {
+    private Long taskId;
+    private Long approverId;
+    private String name;
+    private String email;
+    private Long approvalId;
+    private LocalDateTime approvalDate;
+}
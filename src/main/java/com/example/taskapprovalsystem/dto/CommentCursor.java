@@ -0,0 +1,41 @@
+package com.example.taskapprovalsystem.dto;
+
+import com.example.taskapprovalsystem.exception.InvalidRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a task's comment stream, ordered by (createdAt, id). Exchanged with clients as an
+ * opaque URL-safe token.
+ */
+@Data
+@AllArgsConstructor
+public class CommentCursor {
+    private LocalDateTime createdAt;
+    private Long id;
+
+    public static CommentCursor of(CommentResponse comment) {
+        return new CommentCursor(comment.getCreatedAt(), comment.getId());
+    }
+
+    public static CommentCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new CommentCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid comment cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -19,11 +19,15 @@ public class CommentResponse {
     private Long taskId;
 
     public CommentResponse(Comment comment) {
+        this(comment, new UserSummaryDTO(comment.getUser()));
+    }
+
+    public CommentResponse(Comment comment, UserSummaryDTO author) {
         this.id = comment.getId();
         this.content = comment.getContent();
         this.createdAt = comment.getCreatedAt();
-        this.userId = comment.getUser().getId();
-        this.userName = comment.getUser().getName();
+        this.userId = author.getId();
+        this.userName = author.getName();
         this.taskId = comment.getTask().getId();
     }
 }
\ No newline at end of file
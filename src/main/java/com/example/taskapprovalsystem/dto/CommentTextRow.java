@@ -0,0 +1,14 @@
+package com.example.taskapprovalsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentTextRow {
+    private Long id;
+    private Long taskId;
+    private String content;
+}
@@ -0,0 +1,13 @@
+package com.example.taskapprovalsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingApprovalCountResponse {
+    private Long userId;
+    private long pending;
+}
@@ -0,0 +1,13 @@
+package com.example.taskapprovalsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskApprovalResult {
+    private Long taskId;
+    private ApprovalOutcome outcome;
+}
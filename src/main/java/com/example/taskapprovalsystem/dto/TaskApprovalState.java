@@ -0,0 +1,18 @@
+package com.example.taskapprovalsystem.dto;
+
+import com.example.taskapprovalsystem.entity.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskApprovalState {
+    private Long id;
+    private TaskStatus status;
+    private String approvalPolicy;
+    private int approvalCount;
+    private int approvalWeight;
+    private int requiredRemaining;
+}
@@ -0,0 +1,30 @@
+package com.example.taskapprovalsystem.dto;
+
+import com.example.taskapprovalsystem.entity.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * One change to a task as pushed on {@code GET /api/tasks/stream}. Carries just enough for a client
+ * to decide whether to re-fetch the task; {@code actorId} is the creator, approver or commenter, and
+ * {@code status} is the task's status after the change when the change knows it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangeEvent {
+    private TaskChangeType type;
+    private Long taskId;
+    private TaskStatus status;
+    private Long actorId;
+    private LocalDateTime occurredAt;
+
+    // only used to route the event to approver-filtered subscribers
+    @JsonIgnore
+    private Set<Long> approverIds;
+}
@@ -0,0 +1,18 @@
+package com.example.taskapprovalsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangeRow {
+    private Long id;
+    private Long changeSeq;
+    private LocalDateTime updatedAt;
+    // database clock when the row was read, so settling never compares against the application clock
+    private LocalDateTime readAt;
+}
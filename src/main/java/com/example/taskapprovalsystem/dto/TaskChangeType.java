@@ -0,0 +1,9 @@
+package com.example.taskapprovalsystem.dto;
+
+public enum TaskChangeType {
+    TASK_CREATED,
+    TASK_UPDATED,
+    APPROVAL_RECORDED,
+    STATUS_CHANGED,
+    COMMENT_ADDED
+}
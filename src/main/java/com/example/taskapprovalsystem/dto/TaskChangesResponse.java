@@ -0,0 +1,23 @@
+package com.example.taskapprovalsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the task change feed. {@code tasks} are the current views of every task that changed
+ * after the requested token, {@code comments} the comments added to them since; pass
+ * {@code nextToken} as {@code since} on the next sync, right away while {@code hasMore} is set.
+ * Comments never change, but one can show up again in a later sync, so clients keep them by ID.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangesResponse {
+    private List<TaskResponse> tasks;
+    private List<CommentResponse> comments;
+    private long nextToken;
+    private boolean hasMore;
+}
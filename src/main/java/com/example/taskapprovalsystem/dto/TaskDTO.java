@@ -9,4 +9,5 @@ public class TaskDTO {
     private String title;
     private String description;
     private List<Long> approverIds;
-}
\ No newline at end of file
+    private ApprovalPolicyDTO approvalPolicy;
+}
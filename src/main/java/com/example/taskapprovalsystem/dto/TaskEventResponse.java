@@ -0,0 +1,23 @@
+package com.example.taskapprovalsystem.dto;
+
+import com.example.taskapprovalsystem.entity.TaskEventType;
+import com.example.taskapprovalsystem.entity.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskEventResponse {
+    private Long id;
+    private TaskEventType type;
+    private Long actorId;
+    private Long subjectId;
+    private TaskStatus status;
+    private String title;
+    private String description;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,26 @@
+package com.example.taskapprovalsystem.dto;
+
+import com.example.taskapprovalsystem.entity.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilter {
+    private TaskStatus status;
+    private Long creatorId;
+    private Long approverId;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+
+    /**
+     * Whether the listing is limited by creation time, and so paged in (createdAt, id) order.
+     */
+    public boolean hasCreatedRange() {
+        return createdFrom != null || createdTo != null;
+    }
+}
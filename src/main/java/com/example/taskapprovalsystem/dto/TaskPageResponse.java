@@ -0,0 +1,16 @@
+package com.example.taskapprovalsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPageResponse {
+    private List<TaskResponse> tasks;
+    private String nextCursor;
+    private boolean hasMore;
+}
@@ -7,7 +7,6 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Data
 @NoArgsConstructor
@@ -17,9 +16,11 @@ public class TaskResponse {
     private String title;
     private String description;
     private TaskStatus status;
+    private Long version;
     private UserSummaryDTO creator;
     private List<ApproverStatus> approverStatuses;
-    private List<CommentResponse> comments;
+    private int commentCount;
+    private List<CommentResponse> latestComments;
 
     @Data
     @NoArgsConstructor
@@ -33,15 +34,19 @@ public class TaskResponse {
     }
 
     public TaskResponse(Task task) {
+        this(task, new UserSummaryDTO(task.getCreator()));
+    }
+
+    public TaskResponse(Task task, UserSummaryDTO creator) {
         this.id = task.getId();
         this.title = task.getTitle();
         this.description = task.getDescription();
         this.status = task.getStatus();
-        this.creator = new UserSummaryDTO(task.getCreator());
+        this.version = task.getVersion();
+        this.creator = creator;
 
         this.approverStatuses = new ArrayList<>();
-        Map<Long, Approval> approvalMap = task.getApprovals().stream()
-                .collect(Collectors.toMap(a -> a.getApprover().getId(), a -> a));
+        Map<Long, Approval> approvalMap = approvalsByApprover(task.getApprovals());
 
         for (User approver : task.getApprovers()) {
             Approval approval = approvalMap.get(approver.getId());
@@ -54,8 +59,18 @@ public class TaskResponse {
             ));
         }
 
-        this.comments = task.getComments().stream()
-                .map(CommentResponse::new)
-                .collect(Collectors.toList());
+        // the full discussion is paged through GET /api/tasks/{taskId}/comments
+        this.commentCount = task.getCommentCount();
+        this.latestComments = new ArrayList<>();
+    }
+
+    static Map<Long, Approval> approvalsByApprover(Collection<Approval> approvals) {
+        Map<Long, Approval> approvalMap = new HashMap<>(approvals.size() * 2);
+        for (Approval approval : approvals) {
+            if (approvalMap.putIfAbsent(approval.getApprover().getId(), approval) != null) {
+                throw new IllegalStateException("Duplicate approval by approver " + approval.getApprover().getId());
+            }
+        }
+        return approvalMap;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.example.taskapprovalsystem.dto;
+
+import com.example.taskapprovalsystem.entity.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskRow {
+    private Long id;
+    private String title;
+    private String description;
+    private TaskStatus status;
+    private long version;
+    private int commentCount;
+    private Long creatorId;
+    private String creatorName;
+    private String creatorEmail;
+}
@@ -0,0 +1,19 @@
+package com.example.taskapprovalsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSearchResponse {
+    private String query;
+    private long total;
+    private int page;
+    private int size;
+    private boolean hasMore;
+    private List<TaskResponse> tasks;
+}
@@ -0,0 +1,31 @@
+package com.example.taskapprovalsystem.dto;
+
+import com.example.taskapprovalsystem.entity.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A task as rebuilt from its event log.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskState {
+    private Long taskId;
+    private String title;
+    private String description;
+    private TaskStatus status;
+    private Long creatorId;
+    private LocalDateTime createdAt;
+    private SortedSet<Long> approverIds = new TreeSet<>();
+    private SortedSet<Long> approvedBy = new TreeSet<>();
+    private int commentCount;
+    private long eventCount;
+    private long lastEventId;
+    private LocalDateTime updatedAt;
+}
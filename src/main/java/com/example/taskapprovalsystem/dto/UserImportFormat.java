@@ -0,0 +1,6 @@
+package com.example.taskapprovalsystem.dto;
+
+public enum UserImportFormat {
+    CSV,
+    NDJSON
+}
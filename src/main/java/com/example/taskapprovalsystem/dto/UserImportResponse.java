@@ -0,0 +1,17 @@
+package com.example.taskapprovalsystem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResponse {
+    private int imported;
+    private int failed;
+    private List<UserImportError> errors = new ArrayList<>();
+}
@@ -9,13 +9,18 @@ import java.time.LocalDateTime;
 
 
 @Entity
-@Table(name = "approvals")
+@Table(name = "approvals", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_approvals_task_approver", columnNames = {"task_id", "approver_id"})
+}, indexes = {
+        @Index(name = "idx_approvals_approver_task", columnList = "approver_id, task_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Approval {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "approvals_seq")
+    @SequenceGenerator(name = "approvals_seq", sequenceName = "approvals_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -6,18 +6,23 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_task_created_at_id", columnList = "task_id, createdAt, id"),
+        @Index(name = "idx_comments_task_change_seq", columnList = "task_id, change_seq")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @SequenceGenerator(name = "comments_seq", sequenceName = "comments_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -32,4 +37,9 @@ public class Comment {
     private String content;
 
     private LocalDateTime createdAt;
+
+    // comments are never edited, so the sequence taken on insert is their last change
+    @ColumnDefault("nextval('" + Task.CHANGE_SEQUENCE + "')")
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
 }
\ No newline at end of file
@@ -0,0 +1,7 @@
+package com.example.taskapprovalsystem.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
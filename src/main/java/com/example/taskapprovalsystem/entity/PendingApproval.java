@@ -0,0 +1,39 @@
+package com.example.taskapprovalsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * One row per approver and task still waiting for that approver: the task is not approved yet and
+ * the approver has not approved it. Maintained by {@link com.example.taskapprovalsystem.service.TaskService}
+ * with set-based statements, so an approver's inbox and badge count are primary-key range scans.
+ */
+@Entity
+@Table(name = "pending_approvals", indexes = {
+        @Index(name = "idx_pending_approvals_task", columnList = "task_id")
+})
+@IdClass(PendingApproval.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PendingApproval {
+    @Id
+    @Column(name = "approver_id")
+    private Long approverId;
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long approverId;
+        private Long taskId;
+    }
+}
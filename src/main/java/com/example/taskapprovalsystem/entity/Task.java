@@ -6,25 +6,70 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_status_id", columnList = "status, id"),
+        @Index(name = "idx_tasks_creator_id", columnList = "creator_id, id"),
+        @Index(name = "idx_tasks_created_at_id", columnList = "createdAt, id"),
+        @Index(name = "idx_tasks_change_seq", columnList = "change_seq")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Task {
+    public static final String CHANGE_SEQUENCE = "task_changes_seq";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     private String title;
     private String description;
 
     @Enumerated(EnumType.STRING)
     private TaskStatus status;
 
+    private LocalDateTime createdAt;
+
+    // position in the change feed; assigned by the database on insert and by the change-tracking
+    // UPDATEs in TaskRepository, never written from the entity
+    @ColumnDefault("nextval('" + CHANGE_SEQUENCE + "')")
+    @Column(name = "change_seq", insertable = false, updatable = false)
+    private Long changeSeq;
+
+    // stamped from the database clock, like the change feed reads it, never written from the entity
+    @ColumnDefault("localtimestamp")
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    @ColumnDefault("0")
+    private int approvalCount;
+
+    @ColumnDefault("0")
+    private int commentCount;
+
+    // compiled approval policy, see ApprovalPolicy#encode; null on tasks created before policies,
+    // which keep needing three approvals
+    @Column(length = 4000)
+    private String approvalPolicy;
+
+    // running totals the policy is evaluated against, kept up to date by TaskRepository#recordApproval
+    @ColumnDefault("0")
+    private int approvalWeight;
+
+    @ColumnDefault("0")
+    private int requiredRemaining;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties({"createdTasks", "tasksToApprove", "hibernateLazyInitializer"})
     private User creator;
@@ -33,7 +78,8 @@ public class Task {
     @JoinTable(
             name = "tasks_approvers",
             joinColumns = @JoinColumn(name = "task_id"),
-            inverseJoinColumns = @JoinColumn(name = "user_id")
+            inverseJoinColumns = @JoinColumn(name = "user_id"),
+            indexes = @Index(name = "idx_tasks_approvers_user_task", columnList = "user_id, task_id")
     )
     @JsonIgnoreProperties({"createdTasks", "tasksToApprove", "hibernateLazyInitializer"})
     private Set<User> approvers = new HashSet<>();
@@ -58,4 +104,4 @@ public class Task {
     public int hashCode() {
         return Objects.hash(getId());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package com.example.taskapprovalsystem.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a task's append-only history. Rows are only ever inserted; {@code subjectId} is the
+ * added approver for APPROVER_ADDED and the comment for COMMENTED, {@code status} is set on CREATED
+ * and STATUS_CHANGED, and {@code title}/{@code description} carry the values set by CREATED and
+ * DETAILS_UPDATED.
+ *
+ * <p>A task's events are ordered by {@code id}, and rebuilds resume after a snapshot's last id. Ids
+ * are therefore drawn from the sequence one at a time, never from a block an instance holds on to:
+ * every event is written after its task row is locked, so the next id on a task is always higher
+ * than the ids of the events already committed for it, whichever instance wrote them.
+ */
+@Entity
+@Table(name = "task_events", indexes = {
+        @Index(name = "idx_task_events_task_id", columnList = "task_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_events_seq")
+    @SequenceGenerator(name = "task_events_seq", sequenceName = "task_events_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TaskEventType type;
+
+    private Long actorId;
+    private Long subjectId;
+
+    @Enumerated(EnumType.STRING)
+    private TaskStatus status;
+
+    private String title;
+    private String description;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,10 @@
+package com.example.taskapprovalsystem.entity;
+
+public enum TaskEventType {
+    CREATED,
+    DETAILS_UPDATED,
+    APPROVER_ADDED,
+    APPROVED,
+    STATUS_CHANGED,
+    COMMENTED
+}
@@ -0,0 +1,33 @@
+package com.example.taskapprovalsystem.entity;
+
+import com.example.taskapprovalsystem.dto.TaskState;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * A task's state folded from its event log up to and including {@code lastEventId}. Only the latest
+ * snapshot is kept; rebuilding the state replays the events after it.
+ */
+@Entity
+@Table(name = "task_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSnapshot {
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    private long lastEventId;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    private TaskState state;
+
+    private LocalDateTime takenAt;
+}
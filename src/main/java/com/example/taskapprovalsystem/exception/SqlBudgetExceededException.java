@@ -0,0 +1,11 @@
+package com.example.taskapprovalsystem.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+public class SqlBudgetExceededException extends RuntimeException {
+    public SqlBudgetExceededException(int statements, int budget) {
+        super("Request issued " + statements + " SQL statements, over its budget of " + budget);
+    }
+}
@@ -2,8 +2,17 @@ package com.example.taskapprovalsystem.repository;
 
 import com.example.taskapprovalsystem.entity.Approval;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ApprovalRepository extends JpaRepository<Approval, Long> {
-}
\ No newline at end of file
+
+    boolean existsByTaskIdAndApproverId(Long taskId, Long approverId);
+
+    @Query("SELECT a.task.id FROM Approval a WHERE a.approver.id = :approverId AND a.task.id IN :taskIds")
+    List<Long> findApprovedTaskIds(Long approverId, Collection<Long> taskIds);
+}
@@ -0,0 +1,40 @@
+package com.example.taskapprovalsystem.repository;
+
+import com.example.taskapprovalsystem.entity.OutboxEvent;
+import com.example.taskapprovalsystem.entity.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // lock timeout -2 is Hibernate's SKIP LOCKED, so several dispatchers never claim the same rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e " +
+            "WHERE e.status = :status AND e.nextAttemptAt <= :now " +
+            "ORDER BY e.id")
+    List<OutboxEvent> findDueForDispatch(OutboxStatus status, LocalDateTime now, Pageable pageable);
+
+    /**
+     * Records a delivery outcome, but only while the event is still pending under the claim that
+     * produced it; a dispatcher whose lease ran out and was re-claimed, or already recorded, updates nothing.
+     */
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.nextAttemptAt = :nextAttemptAt, " +
+            "e.sentAt = :sentAt, e.lastError = :lastError " +
+            "WHERE e.id = :id AND e.attempts = :claimedAttempts " +
+            "AND e.status = com.example.taskapprovalsystem.entity.OutboxStatus.PENDING")
+    int recordOutcome(Long id, int claimedAttempts, OutboxStatus status, LocalDateTime nextAttemptAt,
+                      LocalDateTime sentAt, String lastError);
+}
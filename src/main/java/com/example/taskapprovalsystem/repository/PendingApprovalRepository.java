@@ -0,0 +1,43 @@
+package com.example.taskapprovalsystem.repository;
+
+import com.example.taskapprovalsystem.entity.PendingApproval;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PendingApprovalRepository extends org.springframework.data.repository.Repository<PendingApproval, PendingApproval.Key> {
+
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO PendingApproval (approverId, taskId) " +
+            "SELECT a.id, t.id FROM Task t JOIN t.approvers a WHERE t.id IN :taskIds")
+    int addForTasks(Collection<Long> taskIds);
+
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO PendingApproval (approverId, taskId) " +
+            "SELECT a.id, t.id FROM Task t JOIN t.approvers a " +
+            "WHERE t.id = :taskId AND a.id IN :approverIds " +
+            "AND t.status <> com.example.taskapprovalsystem.entity.TaskStatus.APPROVED")
+    int addForApprovers(Long taskId, Collection<Long> approverIds);
+
+    @Modifying
+    @Query("DELETE FROM PendingApproval p WHERE p.approverId = :approverId AND p.taskId IN :taskIds")
+    int removeForApprover(Long approverId, Collection<Long> taskIds);
+
+    @Modifying
+    @Query("DELETE FROM PendingApproval p WHERE p.taskId IN :taskIds")
+    int removeForTasks(Collection<Long> taskIds);
+
+    @Query("SELECT p.taskId FROM PendingApproval p WHERE p.approverId = :approverId ORDER BY p.taskId DESC")
+    List<Long> findTaskIds(Long approverId, Limit limit);
+
+    @Query("SELECT p.taskId FROM PendingApproval p WHERE p.approverId = :approverId AND p.taskId < :cursor " +
+            "ORDER BY p.taskId DESC")
+    List<Long> findTaskIdsBefore(Long approverId, Long cursor, Limit limit);
+
+    long countByApproverId(Long approverId);
+}
@@ -0,0 +1,35 @@
+package com.example.taskapprovalsystem.repository;
+
+import com.example.taskapprovalsystem.dto.TaskEventResponse;
+import com.example.taskapprovalsystem.entity.TaskEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TaskEventRepository extends JpaRepository<TaskEvent, Long> {
+
+    @Query("SELECT new com.example.taskapprovalsystem.dto.TaskEventResponse(e.id, e.type, e.actorId, e.subjectId, " +
+            "e.status, e.title, e.description, e.occurredAt) FROM TaskEvent e " +
+            "WHERE e.taskId = :taskId AND e.id > :after ORDER BY e.id")
+    List<TaskEventResponse> findTimeline(Long taskId, long after, Limit limit);
+
+    @Query("SELECT e FROM TaskEvent e WHERE e.taskId = :taskId AND e.id > :after ORDER BY e.id")
+    List<TaskEvent> findEventsAfter(Long taskId, long after);
+
+    /**
+     * Tasks with an event after {@code since} that have at least {@code threshold} events past their
+     * latest snapshot.
+     */
+    @Query("SELECT e.taskId FROM TaskEvent e " +
+            "WHERE e.taskId IN (SELECT recent.taskId FROM TaskEvent recent WHERE recent.id > :since) " +
+            "AND e.id > COALESCE((SELECT s.lastEventId FROM TaskSnapshot s WHERE s.taskId = e.taskId), 0) " +
+            "GROUP BY e.taskId HAVING COUNT(e) >= :threshold ORDER BY e.taskId")
+    List<Long> findTaskIdsDueForSnapshot(long since, long threshold, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM TaskEvent e")
+    long findLatestId();
+}
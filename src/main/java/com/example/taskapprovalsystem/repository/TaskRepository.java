@@ -1,17 +1,86 @@
 package com.example.taskapprovalsystem.repository;
 
+import com.example.taskapprovalsystem.dto.TaskApprovalState;
+import com.example.taskapprovalsystem.dto.TaskStatusCount;
 import com.example.taskapprovalsystem.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+    // every write to a task takes a fresh change sequence so GET /api/tasks/changes picks it up
+    String CHANGED = "t.changeSeq = function('nextval', '" + Task.CHANGE_SEQUENCE + "'), t.updatedAt = local datetime";
+    String APPROVAL_STATE = "new com.example.taskapprovalsystem.dto.TaskApprovalState(t.id, t.status, t.approvalPolicy, " +
+            "t.approvalCount, t.approvalWeight, t.requiredRemaining)";
 
-    @Query("SELECT DISTINCT t FROM Task t " +
-            "LEFT JOIN FETCH t.approvers " +
-            "LEFT JOIN FETCH t.creator")
-    List<Task> findAllWithApprovers();
+    // served from the query cache until some task's approvers change. It reads only the join table
+    // so the bulk counter updates on tasks, run by every approval, leave it cached. Only called from
+    // write transactions, which run on the primary, so a lagging replica can never seed the cache
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_NATIVE_SPACES, value = "tasks_approvers")
+    })
+    @Query(value = "SELECT COUNT(*) > 0 FROM tasks_approvers WHERE task_id = :taskId AND user_id = :userId",
+            nativeQuery = true)
+    boolean isApprover(Long taskId, Long userId);
+
+    @Query("SELECT " + APPROVAL_STATE + " FROM Task t WHERE t.id = :taskId")
+    Optional<TaskApprovalState> findApprovalState(Long taskId);
+
+    @Query("SELECT " + APPROVAL_STATE + " FROM Task t WHERE t.id IN :taskIds")
+    List<TaskApprovalState> findApprovalStates(Collection<Long> taskIds);
+
+    /**
+     * Adds one approval, carrying {@code weight} and satisfying {@code required} required approvers,
+     * to the task's running approval totals.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.approvalCount = t.approvalCount + 1, t.approvalWeight = t.approvalWeight + :weight, " +
+            "t.requiredRemaining = t.requiredRemaining - :required, t.version = t.version + 1, " +
+            CHANGED + " WHERE t.id = :taskId")
+    int recordApproval(Long taskId, int weight, int required);
+
+    @Query("SELECT " + APPROVAL_STATE + " FROM Task t JOIN t.approvers a WHERE a.id = :approverId AND t.id IN :taskIds")
+    List<TaskApprovalState> findApprovalStatesWithApprover(Collection<Long> taskIds, Long approverId);
+
+    @Query("SELECT t.id FROM Task t WHERE t.id IN :taskIds")
+    List<Long> findExistingIds(Collection<Long> taskIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Task t SET t.approvalCount = t.approvalCount + 1, t.approvalWeight = t.approvalWeight + :weight, " +
+            "t.requiredRemaining = t.requiredRemaining - :required, t.version = t.version + 1, " +
+            CHANGED + " WHERE t.id IN :taskIds")
+    int recordApprovals(Collection<Long> taskIds, int weight, int required);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Task t SET t.status = com.example.taskapprovalsystem.entity.TaskStatus.APPROVED, " +
+            "t.version = t.version + 1 WHERE t.id IN :taskIds")
+    int markApproved(Collection<Long> taskIds);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.commentCount = t.commentCount + 1, t.version = t.version + 1 WHERE t.id = :taskId")
+    int incrementCommentCount(Long taskId);
+
+    /**
+     * Moves the task to the head of the change feed after an entity update.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET " + CHANGED + " WHERE t.id = :taskId")
+    int markChanged(Long taskId);
+
+    @Query("SELECT t.version FROM Task t WHERE t.id = :taskId")
+    Optional<Long> findVersionById(Long taskId);
+
+    @Query("SELECT new com.example.taskapprovalsystem.dto.TaskStatusCount(t.status, COUNT(t)) FROM Task t GROUP BY t.status")
+    List<TaskStatusCount> countTasksByStatus();
 }
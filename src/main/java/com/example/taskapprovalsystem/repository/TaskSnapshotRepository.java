@@ -0,0 +1,9 @@
+package com.example.taskapprovalsystem.repository;
+
+import com.example.taskapprovalsystem.entity.TaskSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskSnapshotRepository extends JpaRepository<TaskSnapshot, Long> {
+}
@@ -0,0 +1,66 @@
+package com.example.taskapprovalsystem.repository;
+
+import com.example.taskapprovalsystem.dto.TaskCursor;
+import com.example.taskapprovalsystem.dto.TaskFilter;
+import com.example.taskapprovalsystem.entity.Task;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(TaskFilter filter, Long cursor) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = filters(filter, root, cb);
+            if (cursor != null) {
+                predicates.add(cb.lessThan(root.get("id"), cursor));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Same filters, continuing a (createdAt, id) newest-first listing after {@code cursor}.
+     */
+    public static Specification<Task> matching(TaskFilter filter, TaskCursor cursor) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = filters(filter, root, cb);
+            if (cursor != null) {
+                predicates.add(cb.or(
+                        cb.lessThan(root.<LocalDateTime>get("createdAt"), cursor.getCreatedAt()),
+                        cb.and(cb.equal(root.get("createdAt"), cursor.getCreatedAt()),
+                                cb.lessThan(root.get("id"), cursor.getId()))));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static List<Predicate> filters(TaskFilter filter, Root<Task> root, CriteriaBuilder cb) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+        }
+        if (filter.getCreatorId() != null) {
+            predicates.add(cb.equal(root.get("creator").get("id"), filter.getCreatorId()));
+        }
+        if (filter.getApproverId() != null) {
+            // (task_id, user_id) is unique in tasks_approvers, so the join cannot duplicate rows
+            predicates.add(cb.equal(root.join("approvers").get("id"), filter.getApproverId()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            predicates.add(cb.lessThan(root.get("createdAt"), filter.getCreatedTo()));
+        }
+        return predicates;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.taskapprovalsystem.repository;
+
+import com.example.taskapprovalsystem.dto.ApproverStatusRow;
+import com.example.taskapprovalsystem.dto.CommentResponse;
+import com.example.taskapprovalsystem.dto.CommentTextRow;
+import com.example.taskapprovalsystem.dto.TaskChangeRow;
+import com.example.taskapprovalsystem.dto.TaskRow;
+import com.example.taskapprovalsystem.dto.TaskTextRow;
+import com.example.taskapprovalsystem.entity.Task;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskViewRepository extends org.springframework.data.repository.Repository<Task, Long>, TaskViewRepositoryCustom {
+
+    @Query("SELECT new com.example.taskapprovalsystem.dto.TaskRow(" +
+            "t.id, t.title, t.description, t.status, t.version, t.commentCount, c.id, c.name, c.email) " +
+            "FROM Task t LEFT JOIN t.creator c " +
+            "WHERE t.id IN :taskIds")
+    List<TaskRow> findTaskRows(Collection<Long> taskIds);
+
+    @Query("SELECT new com.example.taskapprovalsystem.dto.ApproverStatusRow(" +
+            "t.id, a.id, a.name, a.email, ap.id, ap.approvalDate) " +
+            "FROM Task t JOIN t.approvers a " +
+            "LEFT JOIN Approval ap ON ap.task = t AND ap.approver = a " +
+            "WHERE t.id IN :taskIds " +
+            "ORDER BY a.id")
+    List<ApproverStatusRow> findApproverStatuses(Collection<Long> taskIds);
+
+    @Query("SELECT new com.example.taskapprovalsystem.dto.CommentResponse(" +
+            "c.id, c.content, c.createdAt, u.id, u.name, c.task.id) " +
+            "FROM Comment c LEFT JOIN c.user u " +
+            "WHERE c.task.id = :taskId " +
+            "ORDER BY c.createdAt, c.id")
+    List<CommentResponse> findComments(Long taskId, Limit limit);
+
+    @Query("SELECT new com.example.taskapprovalsystem.dto.CommentResponse(" +
+            "c.id, c.content, c.createdAt, u.id, u.name, c.task.id) " +
+            "FROM Comment c LEFT JOIN c.user u " +
+            "WHERE c.task.id = :taskId " +
+            "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+            "ORDER BY c.createdAt, c.id")
+    List<CommentResponse> findCommentsAfter(Long taskId, LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query("SELECT new com.example.taskapprovalsystem.dto.CommentResponse(" +
+            "c.id, c.content, c.createdAt, u.id, u.name, c.task.id) " +
+            "FROM Comment c LEFT JOIN c.user u " +
+            "WHERE c.task.id = :taskId " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentResponse> findLatestComments(Long taskId, Limit limit);
+
+    @Query("SELECT new com.example.taskapprovalsystem.dto.TaskTextRow(t.id, t.title, t.description) " +
+            "FROM Task t WHERE t.id > :afterId ORDER BY t.id")
+    List<TaskTextRow> findTaskTextAfter(Long afterId, Limit limit);
+
+    @Query("SELECT new com.example.taskapprovalsystem.dto.CommentTextRow(c.id, c.task.id, c.content) " +
+            "FROM Comment c WHERE c.id > :afterId ORDER BY c.id")
+    List<CommentTextRow> findCommentTextAfter(Long afterId, Limit limit);
+
+    @Query("SELECT new com.example.taskapprovalsystem.dto.TaskChangeRow(t.id, t.changeSeq, t.updatedAt, local datetime) " +
+            "FROM Task t WHERE t.changeSeq > :since ORDER BY t.changeSeq")
+    List<TaskChangeRow> findChangedSince(long since, Limit limit);
+
+    /**
+     * Comments added to the tasks between two sync tokens. Bounding by {@code until} keeps a comment
+     * added after the page was read out of this sync; it comes with its task's next change instead of twice.
+     */
+    @Query("SELECT new com.example.taskapprovalsystem.dto.CommentResponse(" +
+            "c.id, c.content, c.createdAt, u.id, u.name, c.task.id) " +
+            "FROM Comment c LEFT JOIN c.user u " +
+            "WHERE c.task.id IN :taskIds AND c.changeSeq > :since AND c.changeSeq <= :until " +
+            "ORDER BY c.changeSeq")
+    List<CommentResponse> findCommentsAddedSince(Collection<Long> taskIds, long since, long until);
+}
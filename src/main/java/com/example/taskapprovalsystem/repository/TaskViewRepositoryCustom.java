@@ -0,0 +1,18 @@
+package com.example.taskapprovalsystem.repository;
+
+import com.example.taskapprovalsystem.dto.TaskCursor;
+import com.example.taskapprovalsystem.entity.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TaskViewRepositoryCustom {
+
+    List<Long> findIdsNewestFirst(Specification<Task> specification, int limit);
+
+    /**
+     * Keys of the matching tasks in (createdAt, id) order, newest first, so a creation-time range is
+     * read as one ordered scan of {@code idx_tasks_created_at_id}.
+     */
+    List<TaskCursor> findKeysNewestCreatedFirst(Specification<Task> specification, int limit);
+}
@@ -0,0 +1,45 @@
+package com.example.taskapprovalsystem.repository;
+
+import com.example.taskapprovalsystem.dto.TaskCursor;
+import com.example.taskapprovalsystem.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class TaskViewRepositoryImpl implements TaskViewRepositoryCustom {
+    private final EntityManager entityManager;
+
+    public TaskViewRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Long> findIdsNewestFirst(Specification<Task> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(root.get("id"))
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(cb.desc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<TaskCursor> findKeysNewestCreatedFirst(Specification<Task> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskCursor> query = cb.createQuery(TaskCursor.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(cb.construct(TaskCursor.class, root.get("createdAt"), root.get("id")))
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,9 +1,21 @@
 package com.example.taskapprovalsystem.repository;
 
+import com.example.taskapprovalsystem.dto.UserSummaryDTO;
 import com.example.taskapprovalsystem.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+
+    @Query("SELECT new com.example.taskapprovalsystem.dto.UserSummaryDTO(u.id, u.name, u.email) " +
+            "FROM User u WHERE u.id IN :userIds")
+    List<UserSummaryDTO> findSummariesByIdIn(Collection<Long> userIds);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(Collection<String> emails);
 }
@@ -0,0 +1,118 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.ApprovalPolicyDTO;
+import com.example.taskapprovalsystem.dto.ApprovalPolicyType;
+import com.example.taskapprovalsystem.exception.InvalidRequestException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Compiles requested approval policies against a task's approvers, and turns the stored text form
+ * back into {@link ApprovalPolicy}s through a bounded cache; most tasks share a handful of
+ * policies, so approvals rarely parse one.
+ */
+@Component
+public class ApprovalPolicies {
+    private final Cache<String, ApprovalPolicy> compiled;
+
+    public ApprovalPolicies(MeterRegistry meterRegistry,
+                            @Value("${tasks.approval-policies.cache-size:10000}") long cacheSize) {
+        this.compiled = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, compiled, "tasks.approval.policies");
+    }
+
+    /**
+     * Validates {@code spec} against the task's approvers. Without a spec the task needs three
+     * approvals, or every approver when it has fewer.
+     *
+     * @throws InvalidRequestException when the policy is incomplete or can never be satisfied
+     */
+    public ApprovalPolicy compile(ApprovalPolicyDTO spec, Set<Long> approverIds) {
+        int approverCount = approverIds.size();
+        ApprovalPolicyType type = spec == null || spec.getType() == null ? ApprovalPolicyType.QUORUM : spec.getType();
+        ApprovalPolicy policy = switch (type) {
+            case QUORUM -> {
+                Integer minApprovals = spec == null ? null : spec.getMinApprovals();
+                if (minApprovals != null && (minApprovals < 1 || minApprovals > approverCount)) {
+                    throw new InvalidRequestException("A quorum must be between 1 and the number of approvers");
+                }
+                yield new ApprovalPolicy(type, minApprovals == null ? ApprovalPolicy.DEFAULT_REQUIRED_APPROVALS : minApprovals,
+                        0, Collections.emptyMap(), Collections.emptySet(), approverCount);
+            }
+            case ALL -> new ApprovalPolicy(type, 0, 0, Collections.emptyMap(), Collections.emptySet(), approverCount);
+            case WEIGHTED -> compileWeighted(spec, approverIds);
+            case REQUIRED_APPROVERS -> compileRequired(spec, approverIds);
+        };
+        if (policy.encode().length() > ApprovalPolicy.MAX_ENCODED_LENGTH) {
+            throw new InvalidRequestException("Approval policy is too large");
+        }
+        return policy;
+    }
+
+    /**
+     * Returns the compiled form of a task's stored policy.
+     */
+    public ApprovalPolicy forTask(String encoded) {
+        return encoded == null ? ApprovalPolicy.LEGACY : compiled.get(encoded, ApprovalPolicy::decode);
+    }
+
+    private ApprovalPolicy compileWeighted(ApprovalPolicyDTO spec, Set<Long> approverIds) {
+        if (spec.getMinWeight() == null || spec.getMinWeight() < 1) {
+            throw new InvalidRequestException("A weighted policy needs a minimum weight of at least 1");
+        }
+        Map<Long, Integer> weights = spec.getWeights() == null ? Collections.emptyMap() : spec.getWeights();
+        int totalWeight = 0;
+        for (Long approverId : approverIds) {
+            Integer weight = weights.getOrDefault(approverId, 1);
+            if (weight == null || weight < 0) {
+                throw new InvalidRequestException("Approver weights must not be negative");
+            }
+            totalWeight += weight;
+        }
+        requireApprovers(weights.keySet(), approverIds, "Weights given for users who are not approvers");
+        if (totalWeight < spec.getMinWeight()) {
+            throw new InvalidRequestException("The approvers' weights add up to " + totalWeight
+                    + ", less than the minimum weight of " + spec.getMinWeight());
+        }
+        Map<Long, Integer> nonDefault = new HashMap<>();
+        weights.forEach((approverId, weight) -> {
+            if (weight != 1) {
+                nonDefault.put(approverId, weight);
+            }
+        });
+        return new ApprovalPolicy(ApprovalPolicyType.WEIGHTED, 0, spec.getMinWeight(), nonDefault,
+                Collections.emptySet(), approverIds.size());
+    }
+
+    private ApprovalPolicy compileRequired(ApprovalPolicyDTO spec, Set<Long> approverIds) {
+        if (spec.getRequiredApproverIds() == null || spec.getRequiredApproverIds().isEmpty()) {
+            throw new InvalidRequestException("A required-approvers policy needs at least one required approver");
+        }
+        Set<Long> required = new HashSet<>(spec.getRequiredApproverIds());
+        requireApprovers(required, approverIds, "Required approvers who are not approvers of the task");
+        int minApprovals = spec.getMinApprovals() == null ? required.size() : spec.getMinApprovals();
+        if (minApprovals < required.size() || minApprovals > approverIds.size()) {
+            throw new InvalidRequestException(
+                    "Minimum approvals must be between the number of required approvers and the number of approvers");
+        }
+        return new ApprovalPolicy(ApprovalPolicyType.REQUIRED_APPROVERS, minApprovals, 0, Collections.emptyMap(),
+                required, approverIds.size());
+    }
+
+    private static void requireApprovers(Collection<Long> ids, Set<Long> approverIds, String message) {
+        Set<Long> unknown = new TreeSet<>(ids);
+        unknown.removeAll(approverIds);
+        if (!unknown.isEmpty()) {
+            throw new InvalidRequestException(message + ": " + unknown);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.ApprovalPolicyType;
+
+import java.util.*;
+
+/**
+ * A task's approval policy, compiled by {@link ApprovalPolicies} when the task is created. Every
+ * policy reduces to three thresholds over running totals the task row keeps: approvals, summed
+ * approver weight, and required approvers still missing. Recording an approval adds the approver's
+ * weight and required flag to those totals, and deciding whether the task is approved compares
+ * them against the thresholds, so neither ever looks at the approvals or approvers of the task.
+ *
+ * <p>Stored on the task in the compact text form of {@link #encode()}.
+ */
+public final class ApprovalPolicy {
+    public static final int DEFAULT_REQUIRED_APPROVALS = 3;
+    public static final int MAX_ENCODED_LENGTH = 4000;
+
+    /**
+     * Tasks created before policies existed: three approvals, however many approvers there are.
+     */
+    static final ApprovalPolicy LEGACY = new ApprovalPolicy(ApprovalPolicyType.QUORUM, DEFAULT_REQUIRED_APPROVALS,
+            0, Collections.emptyMap(), Collections.emptySet(), Integer.MAX_VALUE);
+
+    private final ApprovalPolicyType type;
+    private final int minApprovals;
+    private final int minWeight;
+    private final Map<Long, Integer> weights;
+    private final Set<Long> requiredApprovers;
+    private final int approverCount;
+
+    ApprovalPolicy(ApprovalPolicyType type, int minApprovals, int minWeight, Map<Long, Integer> weights,
+                   Set<Long> requiredApprovers, int approverCount) {
+        this.type = type;
+        this.minApprovals = minApprovals;
+        this.minWeight = minWeight;
+        this.weights = Map.copyOf(weights);
+        this.requiredApprovers = Set.copyOf(requiredApprovers);
+        this.approverCount = approverCount;
+    }
+
+    public ApprovalPolicyType getType() {
+        return type;
+    }
+
+    /**
+     * Approvals needed; a quorum larger than the task's approver list needs every approver instead.
+     */
+    public int requiredApprovals() {
+        return switch (type) {
+            case ALL -> approverCount;
+            case QUORUM -> Math.min(minApprovals, approverCount);
+            default -> minApprovals;
+        };
+    }
+
+    public int weightOf(Long approverId) {
+        return weights.getOrDefault(approverId, 1);
+    }
+
+    public boolean isRequired(Long approverId) {
+        return requiredApprovers.contains(approverId);
+    }
+
+    /**
+     * Initial value of the task's count of required approvers still missing.
+     */
+    public int requiredApproverCount() {
+        return requiredApprovers.size();
+    }
+
+    public boolean isSatisfied(int approvals, int weight, int requiredRemaining) {
+        return approvals > 0 && approvals >= requiredApprovals() && weight >= minWeight && requiredRemaining <= 0;
+    }
+
+    /**
+     * The same policy for a task that now has {@code approverCount} approvers.
+     */
+    public ApprovalPolicy withApproverCount(int approverCount) {
+        return new ApprovalPolicy(type, minApprovals, minWeight, weights, requiredApprovers, approverCount);
+    }
+
+    /**
+     * Text form stored on the task, e.g. {@code WEIGHTED;approvers=3;weight=5;weights=12:3,15:2}.
+     */
+    public String encode() {
+        StringBuilder encoded = new StringBuilder(type.name()).append(";approvers=").append(approverCount);
+        if (minApprovals > 0) {
+            encoded.append(";approvals=").append(minApprovals);
+        }
+        if (minWeight > 0) {
+            encoded.append(";weight=").append(minWeight);
+        }
+        if (!weights.isEmpty()) {
+            StringJoiner entries = new StringJoiner(",");
+            new TreeMap<>(weights).forEach((approverId, weight) -> entries.add(approverId + ":" + weight));
+            encoded.append(";weights=").append(entries);
+        }
+        if (!requiredApprovers.isEmpty()) {
+            StringJoiner ids = new StringJoiner(",");
+            new TreeSet<>(requiredApprovers).forEach(approverId -> ids.add(approverId.toString()));
+            encoded.append(";required=").append(ids);
+        }
+        return encoded.toString();
+    }
+
+    static ApprovalPolicy decode(String encoded) {
+        String[] parts = encoded.split(";");
+        ApprovalPolicyType type = ApprovalPolicyType.valueOf(parts[0]);
+        int approverCount = 0;
+        int minApprovals = 0;
+        int minWeight = 0;
+        Map<Long, Integer> weights = new HashMap<>();
+        Set<Long> requiredApprovers = new HashSet<>();
+        for (int i = 1; i < parts.length; i++) {
+            int separator = parts[i].indexOf('=');
+            String value = parts[i].substring(separator + 1);
+            switch (parts[i].substring(0, separator)) {
+                case "approvers" -> approverCount = Integer.parseInt(value);
+                case "approvals" -> minApprovals = Integer.parseInt(value);
+                case "weight" -> minWeight = Integer.parseInt(value);
+                case "weights" -> {
+                    for (String entry : value.split(",")) {
+                        int colon = entry.indexOf(':');
+                        weights.put(Long.parseLong(entry.substring(0, colon)), Integer.parseInt(entry.substring(colon + 1)));
+                    }
+                }
+                case "required" -> {
+                    for (String approverId : value.split(",")) {
+                        requiredApprovers.add(Long.parseLong(approverId));
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown approval policy setting in " + encoded);
+            }
+        }
+        return new ApprovalPolicy(type, minApprovals, minWeight, weights, requiredApprovers, approverCount);
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
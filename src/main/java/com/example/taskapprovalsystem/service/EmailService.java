@@ -1,30 +1,164 @@
 package com.example.taskapprovalsystem.service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.*;
+import java.util.concurrent.*;
+
 @Service
 @Slf4j
 public class EmailService {
     private final JavaMailSender mailSender;
+    private final int maxBatchSize;
+    private final int perDomainConcurrency;
+    private final ExecutorService deliveryExecutor;
+    private final Map<String, Semaphore> domainPermits = new ConcurrentHashMap<>();
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Timer sessionTimer;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary sessionSize;
 
-    public EmailService(JavaMailSender mailSender) {
+    public EmailService(JavaMailSender mailSender,
+                        MeterRegistry meterRegistry,
+                        @Value("${mail.delivery.max-batch-size:50}") int maxBatchSize,
+                        @Value("${mail.delivery.per-domain-concurrency:2}") int perDomainConcurrency,
+                        @Value("${mail.delivery.threads:4}") int threads) {
         this.mailSender = mailSender;
+        this.maxBatchSize = maxBatchSize;
+        this.perDomainConcurrency = perDomainConcurrency;
+        this.deliveryExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "mail-delivery");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sentCounter = Counter.builder("mail.messages.sent")
+                .description("Emails accepted by the SMTP server")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("mail.messages.failed")
+                .description("Emails that could not be delivered")
+                .register(meterRegistry);
+        this.sessionTimer = Timer.builder("mail.session.duration")
+                .description("Time spent delivering one batch over a single SMTP session")
+                .register(meterRegistry);
+        this.sessionSize = DistributionSummary.builder("mail.session.messages").register(meterRegistry);
+        this.meterRegistry = meterRegistry;
     }
 
     public void sendEmail(String to, String subject, String body) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(to);
+        message.setSubject(subject);
+        message.setText(body);
+        Map<SimpleMailMessage, Exception> failures = sendBatch(Collections.singletonList(message));
+        if (!failures.isEmpty()) {
+            throw new MailSendException("Failed to send email to " + to, failures.get(message));
+        }
+    }
+
+    /**
+     * Delivers the messages grouped by recipient domain, each group in chunks that share one SMTP
+     * session. Returns the messages that could not be delivered together with their cause.
+     *
+     * <p>Every call is timed as {@code mail.send.duration}, tagged with its outcome: {@code success},
+     * {@code partial} or {@code failure} by how many messages were delivered, or {@code error} when
+     * the batch did not complete.
+     */
+    public Map<SimpleMailMessage, Exception> sendBatch(List<SimpleMailMessage> messages) {
+        Map<SimpleMailMessage, Exception> failures = new IdentityHashMap<>();
+        if (messages.isEmpty()) {
+            return failures;
+        }
+        Timer.Sample sample = Timer.start();
+        String outcome = "error";
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-            mailSender.send(message);
-        } catch (Exception e) {
-            log.error("Failed to send email", e);
+            Map<String, List<SimpleMailMessage>> byDomain = new LinkedHashMap<>();
+            for (SimpleMailMessage message : messages) {
+                byDomain.computeIfAbsent(domainOf(message), d -> new ArrayList<>()).add(message);
+            }
+
+            List<Future<Map<SimpleMailMessage, Exception>>> sessions = new ArrayList<>();
+            byDomain.forEach((domain, domainMessages) -> {
+                for (int from = 0; from < domainMessages.size(); from += maxBatchSize) {
+                    List<SimpleMailMessage> chunk = domainMessages.subList(from, Math.min(from + maxBatchSize, domainMessages.size()));
+                    sessions.add(deliveryExecutor.submit(() -> sendSession(domain, chunk)));
+                }
+            });
+
+            for (Future<Map<SimpleMailMessage, Exception>> session : sessions) {
+                try {
+                    failures.putAll(session.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new MailSendException("Interrupted while delivering emails", e);
+                } catch (ExecutionException e) {
+                    throw new MailSendException("Email delivery failed", e.getCause());
+                }
+            }
+            outcome = failures.isEmpty() ? "success" : failures.size() < messages.size() ? "partial" : "failure";
+            return failures;
+        } finally {
+            sample.stop(Timer.builder("mail.send.duration")
+                    .description("Time taken to deliver one batch of emails, including waits for per-domain permits")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
         }
     }
-}
 
+    private Map<SimpleMailMessage, Exception> sendSession(String domain, List<SimpleMailMessage> chunk) throws InterruptedException {
+        Semaphore permits = domainPermits.computeIfAbsent(domain, d -> new Semaphore(perDomainConcurrency));
+        permits.acquire();
+        Timer.Sample sample = Timer.start();
+        Map<SimpleMailMessage, Exception> failures = new IdentityHashMap<>();
+        try {
+            mailSender.send(chunk.toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failed = e.getFailedMessages();
+            for (SimpleMailMessage message : chunk) {
+                if (failed.containsKey(message)) {
+                    failures.put(message, failed.get(message));
+                }
+            }
+            if (failures.isEmpty()) {
+                chunk.forEach(message -> failures.put(message, e));
+            }
+        } catch (MailException e) {
+            chunk.forEach(message -> failures.put(message, e));
+        } finally {
+            sample.stop(sessionTimer);
+            permits.release();
+        }
+
+        sessionSize.record(chunk.size());
+        sentCounter.increment(chunk.size() - failures.size());
+        failedCounter.increment(failures.size());
+        if (!failures.isEmpty()) {
+            log.warn("{} of {} emails to {} failed", failures.size(), chunk.size(), domain);
+        }
+        return failures;
+    }
 
+    private static String domainOf(SimpleMailMessage message) {
+        String[] to = message.getTo();
+        String recipient = to == null || to.length == 0 ? "" : to[0];
+        int at = recipient.lastIndexOf('@');
+        return at < 0 ? "" : recipient.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        deliveryExecutor.shutdown();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.entity.OutboxEvent;
+import com.example.taskapprovalsystem.entity.OutboxStatus;
+import com.example.taskapprovalsystem.repository.OutboxEventRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+@Slf4j
+@Transactional(Transactional.TxType.MANDATORY)
+public class NotificationOutbox {
+    private final OutboxEventRepository outboxEventRepository;
+
+    public NotificationOutbox(OutboxEventRepository outboxEventRepository) {
+        this.outboxEventRepository = outboxEventRepository;
+    }
+
+    public void enqueue(String eventType, String recipient, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(eventType);
+        event.setRecipient(recipient);
+        event.setSubject(subject);
+        event.setBody(body);
+        event.setStatus(OutboxStatus.PENDING);
+        event.setCreatedAt(now);
+        event.setNextAttemptAt(now);
+        outboxEventRepository.save(event);
+        log.debug("Queued {} notification for {}", eventType, recipient);
+    }
+}
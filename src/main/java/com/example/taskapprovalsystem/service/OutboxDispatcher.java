@@ -0,0 +1,170 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.entity.OutboxEvent;
+import com.example.taskapprovalsystem.entity.OutboxStatus;
+import com.example.taskapprovalsystem.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers outbox notifications in batches. A short transaction claims due events (SKIP LOCKED),
+ * counts the attempt and leases them for {@code notifications.outbox.claim-timeout-ms}; mail goes out
+ * with no transaction or row lock held, and a second transaction records each outcome, fenced on the
+ * claimed attempt so a dispatcher that outlived its lease cannot overwrite a newer claim. An event
+ * whose outcome is never recorded, because the dispatcher died mid-batch, is picked up again when its
+ * lease runs out and gives up once its attempts are spent.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final EmailService emailService;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final Duration claimTimeout;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            EmailService emailService,
+                            TransactionOperations transactionOperations,
+                            @Value("${notifications.outbox.batch-size:100}") int batchSize,
+                            @Value("${notifications.outbox.max-attempts:5}") int maxAttempts,
+                            @Value("${notifications.outbox.retry-backoff-ms:30000}") long retryBackoffMs,
+                            @Value("${notifications.outbox.claim-timeout-ms:300000}") long claimTimeoutMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.emailService = emailService;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.claimTimeout = Duration.ofMillis(claimTimeoutMs);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.outbox.poll-interval-ms:5000}")
+    public void dispatchPending() {
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == batchSize);
+    }
+
+    int dispatchBatch() {
+        List<OutboxEvent> events = transactionOperations.execute(status -> claimBatch());
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        Map<SimpleMailMessage, OutboxEvent> messages = new IdentityHashMap<>();
+        for (OutboxEvent event : events) {
+            if (event.getStatus() != OutboxStatus.PENDING) {
+                continue;
+            }
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(event.getRecipient());
+            message.setSubject(event.getSubject());
+            message.setText(event.getBody());
+            messages.put(message, event);
+        }
+        if (messages.isEmpty()) {
+            return events.size();
+        }
+
+        Map<SimpleMailMessage, Exception> failures = send(new ArrayList<>(messages.keySet()));
+        LocalDateTime sentAt = LocalDateTime.now();
+        messages.forEach((message, event) -> {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                event.setStatus(OutboxStatus.SENT);
+                event.setSentAt(sentAt);
+            } else {
+                scheduleRetry(event, failure);
+            }
+        });
+        transactionOperations.executeWithoutResult(status -> messages.values().forEach(this::recordOutcome));
+        int sent = messages.size() - failures.size();
+        log.info("Dispatched outbox batch: {} sent, {} failed", sent, messages.size() - sent);
+        return events.size();
+    }
+
+    /**
+     * Writes the outcome only if the event still carries this dispatcher's claim. Once the lease ran
+     * out another dispatcher may have re-claimed or finished the event, and a late write would undo it.
+     */
+    private void recordOutcome(OutboxEvent event) {
+        int updated = outboxEventRepository.recordOutcome(event.getId(), event.getAttempts(), event.getStatus(),
+                event.getNextAttemptAt(), event.getSentAt(), event.getLastError());
+        if (updated == 0) {
+            log.warn("Dropped {} outcome of outbox event {} (attempt {}): its claim was taken over",
+                    event.getStatus(), event.getId(), event.getAttempts());
+        }
+    }
+
+    /**
+     * Claims the next due events: each counts an attempt and is not due again until its lease runs
+     * out. Events whose attempts were all spent by dispatchers that never recorded an outcome fail here.
+     */
+    List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.findDueForDispatch(
+                OutboxStatus.PENDING, now, PageRequest.of(0, batchSize));
+        for (OutboxEvent event : events) {
+            if (event.getAttempts() >= maxAttempts) {
+                log.error("Giving up on outbox event {} to {}: its last {} deliveries never completed",
+                        event.getId(), event.getRecipient(), event.getAttempts());
+                event.setStatus(OutboxStatus.FAILED);
+                continue;
+            }
+            event.setAttempts(event.getAttempts() + 1);
+            event.setNextAttemptAt(now.plus(claimTimeout));
+        }
+        outboxEventRepository.saveAll(events);
+        return events;
+    }
+
+    /**
+     * Sends the batch; anything escaping the mail service fails every message in it, so the events
+     * are retried rather than left to their lease.
+     */
+    private Map<SimpleMailMessage, Exception> send(List<SimpleMailMessage> messages) {
+        try {
+            return emailService.sendBatch(messages);
+        } catch (RuntimeException e) {
+            log.error("Outbox batch of {} messages failed before completing", messages.size(), e);
+            Map<SimpleMailMessage, Exception> failures = new IdentityHashMap<>();
+            messages.forEach(message -> failures.put(message, e));
+            return failures;
+        }
+    }
+
+    private void scheduleRetry(OutboxEvent event, Exception e) {
+        String error = String.valueOf(e.getMessage());
+        event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+
+        if (event.getAttempts() >= maxAttempts) {
+            log.error("Giving up on outbox event {} to {} after {} attempts",
+                    event.getId(), event.getRecipient(), event.getAttempts(), e);
+            event.setStatus(OutboxStatus.FAILED);
+            return;
+        }
+
+        long delay = retryBackoffMs << Math.min(event.getAttempts() - 1, 10);
+        event.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(delay)));
+        log.warn("Failed to deliver outbox event {} (attempt {}), retrying in {} ms",
+                event.getId(), event.getAttempts(), delay);
+    }
+}
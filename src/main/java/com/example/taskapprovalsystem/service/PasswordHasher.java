@@ -0,0 +1,140 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Runs password hashing on its own small pool with a bounded queue, so hashing bursts cannot take
+ * every core or every request thread away from the rest of the API. Every hash holds one of pool size
+ * plus queue capacity permits until it has run. Single hashes are rejected with
+ * {@link ServiceUnavailableException} when no permit is free; bulk hashing keeps at most one task per
+ * pool thread in flight and waits for a permit instead of failing. Hashing never runs on the caller's thread.
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+    private final PasswordEncoder passwordEncoder;
+    private final Semaphore capacity;
+    private final ThreadPoolExecutor hashingExecutor;
+    private final int poolSize;
+    private final long retryAfterSeconds;
+    private final Timer hashTimer;
+    private final Counter rejections;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry meterRegistry,
+                          @Value("${users.password-hashing.threads:0}") int threads,
+                          @Value("${users.password-hashing.queue-capacity:64}") int queueCapacity,
+                          @Value("${users.password-hashing.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.capacity = new Semaphore(poolSize + queueCapacity);
+        this.hashingExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing");
+            thread.setDaemon(true);
+            return thread;
+        }) {
+            // runs for cancelled tasks too, so an abandoned hash still hands its permit back
+            @Override
+            protected void afterExecute(Runnable task, Throwable failure) {
+                capacity.release();
+            }
+        };
+        this.hashTimer = Timer.builder("users.password.hash")
+                .description("Time spent computing one password hash")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("users.password.hash.rejected")
+                .description("Hash requests turned away because the hashing queue was full")
+                .register(meterRegistry);
+        ExecutorServiceMetrics.monitor(meterRegistry, hashingExecutor, "password-hashing");
+    }
+
+    /**
+     * Hashes one password on the hashing pool, waiting for the result.
+     *
+     * @throws ServiceUnavailableException when the hashing queue is full
+     */
+    public String hash(String rawPassword) {
+        if (!capacity.tryAcquire()) {
+            rejections.increment();
+            log.warn("Password hashing queue is full, rejecting request");
+            throw new ServiceUnavailableException("Too many signups in progress, please retry shortly", retryAfterSeconds);
+        }
+        return await(submit(rawPassword));
+    }
+
+    /**
+     * Hashes the passwords in parallel and returns the hashes in the same order, waiting for room
+     * on the hashing pool while it is full.
+     */
+    public List<String> hashAll(List<String> rawPasswords) {
+        List<String> hashes = new ArrayList<>(rawPasswords.size());
+        Deque<Future<String>> inFlight = new ArrayDeque<>(poolSize);
+        try {
+            for (String rawPassword : rawPasswords) {
+                if (inFlight.size() >= poolSize) {
+                    hashes.add(await(inFlight.removeFirst()));
+                }
+                capacity.acquire();
+                inFlight.addLast(submit(rawPassword));
+            }
+        } catch (InterruptedException e) {
+            inFlight.forEach(hash -> hash.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to hash a password", e);
+        }
+        while (!inFlight.isEmpty()) {
+            hashes.add(await(inFlight.removeFirst()));
+        }
+        return hashes;
+    }
+
+    /**
+     * Submits a hash whose permit the caller already holds.
+     */
+    private Future<String> submit(String rawPassword) {
+        try {
+            return hashingExecutor.submit(() -> encode(rawPassword));
+        } catch (RejectedExecutionException e) {
+            capacity.release();
+            throw e;
+        }
+    }
+
+    private String encode(String rawPassword) {
+        return hashTimer.record(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    private String await(Future<String> hash) {
+        try {
+            return hash.get();
+        } catch (InterruptedException e) {
+            hash.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingExecutor.shutdown();
+    }
+}
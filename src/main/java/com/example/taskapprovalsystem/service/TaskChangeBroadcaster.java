@@ -0,0 +1,225 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.TaskChangeEvent;
+import com.example.taskapprovalsystem.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fans committed task changes out to Server-Sent Events subscribers. Publishing only offers the
+ * event to each matching subscriber's bounded buffer; a small sender pool drains the buffers, at
+ * most one drain per subscriber at a time, so a slow client never blocks a request thread. A
+ * subscriber whose buffer overflows is disconnected instead of buffering without limit.
+ */
+@Component
+@Slf4j
+public class TaskChangeBroadcaster {
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // slots reserved against the limit; a slot is released when its subscriber leaves the set
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Executor senderExecutor;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long timeoutMs;
+    private final long retryAfterSeconds;
+    private final Counter dropped;
+
+    @Autowired
+    public TaskChangeBroadcaster(MeterRegistry meterRegistry,
+                                 @Value("${tasks.stream.buffer-size:256}") int bufferSize,
+                                 @Value("${tasks.stream.max-subscribers:1000}") int maxSubscribers,
+                                 @Value("${tasks.stream.timeout-ms:1800000}") long timeoutMs,
+                                 @Value("${tasks.stream.sender-threads:2}") int senderThreads,
+                                 @Value("${tasks.stream.retry-after-seconds:5}") long retryAfterSeconds) {
+        // each subscriber has at most one drain queued, so this queue is bounded by the subscriber limit
+        this(meterRegistry, new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "task-stream-sender");
+            thread.setDaemon(true);
+            return thread;
+        }), bufferSize, maxSubscribers, timeoutMs, retryAfterSeconds);
+    }
+
+    TaskChangeBroadcaster(MeterRegistry meterRegistry, Executor senderExecutor, int bufferSize, int maxSubscribers,
+                          long timeoutMs, long retryAfterSeconds) {
+        this.senderExecutor = senderExecutor;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMs = timeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        Gauge.builder("tasks.stream.subscribers", subscribers, Set::size)
+                .description("Open task change streams")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("tasks.stream.dropped")
+                .description("Task change streams closed because the client fell too far behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the changes to the given tasks, or to tasks {@code approverId} approves. An
+     * empty filter receives every change; when both are set an event has to match both.
+     *
+     * @throws ServiceUnavailableException when {@code tasks.stream.max-subscribers} streams are open
+     */
+    public SseEmitter subscribe(Set<Long> taskIds, Long approverId) {
+        if (reserved.incrementAndGet() > maxSubscribers) {
+            reserved.decrementAndGet();
+            log.warn("Task stream subscriber limit of {} reached, rejecting subscription", maxSubscribers);
+            throw new ServiceUnavailableException("Too many open task streams, please retry shortly", retryAfterSeconds);
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter,
+                taskIds == null ? Collections.emptySet() : Set.copyOf(taskIds), approverId);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(subscriber));
+        subscribers.add(subscriber);
+        log.info("Task stream opened for tasks {} and approver {}, {} open", subscriber.taskIds, approverId,
+                subscribers.size());
+        return emitter;
+    }
+
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    /**
+     * Whether any open stream filters by approver, i.e. whether events need their approver IDs.
+     */
+    public boolean hasApproverSubscribers() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.approverId != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void publish(TaskChangeEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String id = String.valueOf(sequence.incrementAndGet());
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event)) {
+                subscriber.offer(SseEmitter.event()
+                        .id(id)
+                        .name(event.getType().name())
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+
+    /**
+     * Keeps idle connections from being closed by proxies, and finds clients that went away.
+     */
+    @Scheduled(fixedRateString = "${tasks.stream.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            reserved.decrementAndGet();
+        }
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        if (senderExecutor instanceof ExecutorService executorService) {
+            executorService.shutdown();
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> taskIds;
+        private final Long approverId;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicReference<String> closedReason = new AtomicReference<>();
+
+        private Subscriber(SseEmitter emitter, Set<Long> taskIds, Long approverId) {
+            this.emitter = emitter;
+            this.taskIds = taskIds;
+            this.approverId = approverId;
+        }
+
+        private boolean matches(TaskChangeEvent event) {
+            return (taskIds.isEmpty() || taskIds.contains(event.getTaskId()))
+                    && (approverId == null || event.getApproverIds() != null && event.getApproverIds().contains(approverId));
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            if (!buffer.offer(event)) {
+                dropped.increment();
+                log.warn("Task stream for tasks {} and approver {} fell more than {} events behind, dropping it",
+                        taskIds, approverId, bufferSize);
+                close("slow consumer");
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senderExecutor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (closedReason.get() == null && (event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close("client disconnected");
+            } finally {
+                draining.set(false);
+            }
+            if (closedReason.get() == null && !buffer.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        private void close(String reason) {
+            if (closedReason.compareAndSet(null, reason)) {
+                remove(this);
+                buffer.clear();
+                log.info("Closing task stream for tasks {} and approver {}: {}", taskIds, approverId, reason);
+                emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.entity.TaskEvent;
+import com.example.taskapprovalsystem.entity.TaskEventType;
+import com.example.taskapprovalsystem.entity.TaskStatus;
+import com.example.taskapprovalsystem.repository.TaskEventRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Appends to the task event log in the caller's transaction, so the history commits or rolls back
+ * with the change it records, and after the change has locked the task row. Events are plain inserts
+ * that Hibernate batches with the rest of the transaction's inserts; their IDs are taken from the
+ * sequence one by one, so a task's events are numbered in commit order (see {@link TaskEvent}).
+ */
+@Service
+@Slf4j
+@Transactional(Transactional.TxType.MANDATORY)
+public class TaskEventLog {
+    private final TaskEventRepository taskEventRepository;
+
+    public TaskEventLog(TaskEventRepository taskEventRepository) {
+        this.taskEventRepository = taskEventRepository;
+    }
+
+    public void created(Long taskId, String title, String description, Long creatorId, Collection<Long> approverIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskEvent> events = new ArrayList<>(approverIds.size() + 1);
+        events.add(new TaskEvent(null, taskId, TaskEventType.CREATED, creatorId, null, TaskStatus.PENDING,
+                title, description, now));
+        approverIds.forEach(approverId -> events.add(event(taskId, TaskEventType.APPROVER_ADDED, creatorId, approverId, now)));
+        taskEventRepository.saveAll(events);
+    }
+
+    public void detailsUpdated(Long taskId, String title, String description) {
+        taskEventRepository.save(new TaskEvent(null, taskId, TaskEventType.DETAILS_UPDATED, null, null, null,
+                title, description, LocalDateTime.now()));
+    }
+
+    public void approversAdded(Long taskId, Collection<Long> approverIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskEvent> events = new ArrayList<>(approverIds.size());
+        approverIds.forEach(approverId -> events.add(event(taskId, TaskEventType.APPROVER_ADDED, null, approverId, now)));
+        taskEventRepository.saveAll(events);
+    }
+
+    public void approved(Collection<Long> taskIds, Long approverId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskEvent> events = new ArrayList<>(taskIds.size());
+        taskIds.forEach(taskId -> events.add(event(taskId, TaskEventType.APPROVED, approverId, null, now)));
+        taskEventRepository.saveAll(events);
+    }
+
+    public void statusChanged(Collection<Long> taskIds, TaskStatus status, Long actorId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskEvent> events = new ArrayList<>(taskIds.size());
+        taskIds.forEach(taskId -> events.add(new TaskEvent(null, taskId, TaskEventType.STATUS_CHANGED, actorId, null,
+                status, null, null, now)));
+        taskEventRepository.saveAll(events);
+    }
+
+    public void commented(Long taskId, Long commentId, Long userId) {
+        taskEventRepository.save(event(taskId, TaskEventType.COMMENTED, userId, commentId, LocalDateTime.now()));
+    }
+
+    private static TaskEvent event(Long taskId, TaskEventType type, Long actorId, Long subjectId, LocalDateTime occurredAt) {
+        return new TaskEvent(null, taskId, type, actorId, subjectId, null, null, null, occurredAt);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.config.ReadOnlyTransactional;
+import com.example.taskapprovalsystem.dto.TaskEventResponse;
+import com.example.taskapprovalsystem.dto.TaskState;
+import com.example.taskapprovalsystem.entity.TaskEvent;
+import com.example.taskapprovalsystem.entity.TaskSnapshot;
+import com.example.taskapprovalsystem.exception.ResourceNotFoundException;
+import com.example.taskapprovalsystem.repository.TaskEventRepository;
+import com.example.taskapprovalsystem.repository.TaskRepository;
+import com.example.taskapprovalsystem.repository.TaskSnapshotRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read side of the task event log: the audit timeline, and the task state rebuilt from the latest
+ * snapshot plus the events after it. Snapshots are compacted in the background for tasks that
+ * collected {@code tasks.events.snapshot-after} events since their last one, which bounds how many
+ * events a rebuild replays.
+ */
+@Service
+@Slf4j
+public class TaskHistoryService {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final TaskEventRepository taskEventRepository;
+    private final TaskSnapshotRepository taskSnapshotRepository;
+    private final TaskRepository taskRepository;
+    private final TransactionOperations transactionOperations;
+    private final int snapshotAfter;
+    private final int snapshotBatchSize;
+    // events up to here have been looked at by an earlier compaction run
+    private final AtomicLong compactedThrough = new AtomicLong();
+
+    public TaskHistoryService(TaskEventRepository taskEventRepository, TaskSnapshotRepository taskSnapshotRepository,
+                              TaskRepository taskRepository, TransactionOperations transactionOperations,
+                              @Value("${tasks.events.snapshot-after:50}") int snapshotAfter,
+                              @Value("${tasks.events.snapshot-batch-size:100}") int snapshotBatchSize) {
+        this.taskEventRepository = taskEventRepository;
+        this.taskSnapshotRepository = taskSnapshotRepository;
+        this.taskRepository = taskRepository;
+        this.transactionOperations = transactionOperations;
+        this.snapshotAfter = snapshotAfter;
+        this.snapshotBatchSize = snapshotBatchSize;
+    }
+
+    /**
+     * Pages through the task's events, oldest first, continuing after event {@code after}.
+     */
+    @Timed(value = "tasks.events.timeline", description = "Read a task's event timeline")
+    @ReadOnlyTransactional
+    public Slice<TaskEventResponse> getTimeline(Long taskId, Long after, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<TaskEventResponse> rows = taskEventRepository.findTimeline(taskId, after == null ? 0 : after,
+                Limit.of(pageSize + 1));
+        if (rows.isEmpty() && !taskRepository.existsById(taskId)) {
+            log.error("Task not found with ID: {}", taskId);
+            throw new ResourceNotFoundException("Task not found");
+        }
+        boolean hasMore = rows.size() > pageSize;
+        return new SliceImpl<>(hasMore ? rows.subList(0, pageSize) : rows, PageRequest.of(0, pageSize), hasMore);
+    }
+
+    @Timed(value = "tasks.events.rebuild", description = "Rebuild a task from its event log")
+    @ReadOnlyTransactional
+    public TaskState getState(Long taskId) {
+        TaskState state = rebuild(taskId);
+        if (!hasCreation(state)) {
+            log.error("No creation event in the history of task ID: {}", taskId);
+            throw new ResourceNotFoundException("Task history not found");
+        }
+        return state;
+    }
+
+    /**
+     * Writes fresh snapshots for tasks that collected enough events since their last one.
+     */
+    @Scheduled(fixedDelayString = "${tasks.events.snapshot-interval-ms:60000}")
+    public void compactSnapshots() {
+        long latest = taskEventRepository.findLatestId();
+        long since = compactedThrough.get();
+        if (latest <= since) {
+            return;
+        }
+        List<Long> due = taskEventRepository.findTaskIdsDueForSnapshot(since, snapshotAfter, Limit.of(snapshotBatchSize));
+        for (Long taskId : due) {
+            transactionOperations.executeWithoutResult(status -> snapshot(taskId));
+        }
+        // a full batch may have left tasks behind, look at the same range again next time
+        if (due.size() < snapshotBatchSize) {
+            compactedThrough.compareAndSet(since, latest);
+        }
+        if (!due.isEmpty()) {
+            log.info("Compacted event log snapshots for {} tasks", due.size());
+        }
+    }
+
+    void snapshot(Long taskId) {
+        TaskState state = rebuild(taskId);
+        if (hasCreation(state)) {
+            taskSnapshotRepository.save(new TaskSnapshot(taskId, state.getLastEventId(), state, LocalDateTime.now()));
+        }
+    }
+
+    private TaskState rebuild(Long taskId) {
+        TaskState state = taskSnapshotRepository.findById(taskId).map(TaskSnapshot::getState).orElse(null);
+        for (TaskEvent event : taskEventRepository.findEventsAfter(taskId, state == null ? 0 : state.getLastEventId())) {
+            state = apply(state, event);
+        }
+        return state;
+    }
+
+    /**
+     * Whether the fold started from the task's CREATED event. A log that only holds later events,
+     * say for a task created before the log existed, rebuilds a state with no title, status or creator.
+     */
+    private static boolean hasCreation(TaskState state) {
+        return state != null && state.getCreatedAt() != null;
+    }
+
+    /**
+     * Folds one event into the state; {@code state} is null before the task's first event.
+     */
+    static TaskState apply(TaskState state, TaskEvent event) {
+        if (state == null) {
+            state = new TaskState();
+            state.setTaskId(event.getTaskId());
+            state.setApproverIds(new TreeSet<>());
+            state.setApprovedBy(new TreeSet<>());
+        }
+        switch (event.getType()) {
+            case CREATED -> {
+                state.setTitle(event.getTitle());
+                state.setDescription(event.getDescription());
+                state.setStatus(event.getStatus());
+                state.setCreatorId(event.getActorId());
+                state.setCreatedAt(event.getOccurredAt());
+            }
+            case DETAILS_UPDATED -> {
+                if (event.getTitle() != null) {
+                    state.setTitle(event.getTitle());
+                }
+                if (event.getDescription() != null) {
+                    state.setDescription(event.getDescription());
+                }
+            }
+            case APPROVER_ADDED -> state.getApproverIds().add(event.getSubjectId());
+            case APPROVED -> state.getApprovedBy().add(event.getActorId());
+            case STATUS_CHANGED -> state.setStatus(event.getStatus());
+            case COMMENTED -> state.setCommentCount(state.getCommentCount() + 1);
+        }
+        state.setEventCount(state.getEventCount() + 1);
+        state.setLastEventId(event.getId());
+        state.setUpdatedAt(event.getOccurredAt());
+        return state;
+    }
+}
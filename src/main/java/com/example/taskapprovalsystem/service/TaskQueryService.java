@@ -0,0 +1,276 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.config.ReadOnlyTransactional;
+import com.example.taskapprovalsystem.dto.*;
+import com.example.taskapprovalsystem.exception.InvalidRequestException;
+import com.example.taskapprovalsystem.exception.ResourceNotFoundException;
+import com.example.taskapprovalsystem.repository.PendingApprovalRepository;
+import com.example.taskapprovalsystem.repository.TaskRepository;
+import com.example.taskapprovalsystem.repository.TaskSpecifications;
+import com.example.taskapprovalsystem.repository.TaskViewRepository;
+import com.example.taskapprovalsystem.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Read side for task views. Builds {@link TaskResponse}s straight from constructor-projection queries
+ * (tasks, approver statuses, and for a single task a preview of its latest comments) without loading
+ * managed entities. Full discussions are paged separately by {@link #listComments}.
+ */
+@Service
+@Slf4j
+@Transactional
+public class TaskQueryService {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int DEFAULT_COMMENT_PREVIEW = 3;
+    private static final int MAX_COMMENT_PREVIEW = 20;
+
+    private final TaskViewRepository taskViewRepository;
+    private final TaskRepository taskRepository;
+    private final TaskSearchIndex taskSearchIndex;
+    private final PendingApprovalRepository pendingApprovalRepository;
+    private final UserRepository userRepository;
+
+    public TaskQueryService(TaskViewRepository taskViewRepository, TaskRepository taskRepository,
+                            TaskSearchIndex taskSearchIndex, PendingApprovalRepository pendingApprovalRepository,
+                            UserRepository userRepository) {
+        this.taskViewRepository = taskViewRepository;
+        this.taskRepository = taskRepository;
+        this.taskSearchIndex = taskSearchIndex;
+        this.pendingApprovalRepository = pendingApprovalRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Timed(value = "tasks.view", description = "Load a task view")
+    @ReadOnlyTransactional
+    public TaskResponse getTask(Long taskId) {
+        return getTask(taskId, null);
+    }
+
+    /**
+     * Returns the task view with up to {@code commentPreview} of its latest comments, oldest first.
+     */
+    @Timed(value = "tasks.view", description = "Load a task view")
+    @ReadOnlyTransactional
+    public TaskResponse getTask(Long taskId, Integer commentPreview) {
+        int previewSize = commentPreview == null ? DEFAULT_COMMENT_PREVIEW
+                : Math.max(0, Math.min(commentPreview, MAX_COMMENT_PREVIEW));
+        log.info("Fetching task view with ID: {} and {} latest comments", taskId, previewSize);
+
+        List<TaskResponse> responses = getTasks(Collections.singletonList(taskId));
+        if (responses.isEmpty()) {
+            log.error("Task not found with ID: {}", taskId);
+            throw new ResourceNotFoundException("Task not found");
+        }
+        TaskResponse response = responses.get(0);
+        if (previewSize > 0 && response.getCommentCount() > 0) {
+            attachLatestComments(response, taskViewRepository.findLatestComments(taskId, Limit.of(previewSize)));
+        }
+        return response;
+    }
+
+    /**
+     * Sets the comment preview of a view from its latest comments, newest first as queried.
+     */
+    public static void attachLatestComments(TaskResponse response, List<CommentResponse> newestFirst) {
+        List<CommentResponse> latest = new ArrayList<>(newestFirst);
+        Collections.reverse(latest);
+        response.setLatestComments(latest);
+    }
+
+    /**
+     * Pages through a task's comments in (createdAt, id) order, continuing after {@code cursor}.
+     */
+    @Timed(value = "tasks.comments.list", description = "List the comments of a task")
+    @ReadOnlyTransactional
+    public Slice<CommentResponse> listComments(Long taskId, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        log.info("Listing comments of task {} after cursor {} with page size {}", taskId, cursor, pageSize);
+
+        Limit limit = Limit.of(pageSize + 1);
+        List<CommentResponse> rows;
+        if (cursor == null) {
+            rows = taskViewRepository.findComments(taskId, limit);
+        } else {
+            CommentCursor position = CommentCursor.decode(cursor);
+            rows = taskViewRepository.findCommentsAfter(taskId, position.getCreatedAt(), position.getId(), limit);
+        }
+        if (rows.isEmpty() && !taskRepository.existsById(taskId)) {
+            log.error("Task not found with ID: {}", taskId);
+            throw new ResourceNotFoundException("Task not found");
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<CommentResponse> comments = hasMore ? rows.subList(0, pageSize) : rows;
+        return new SliceImpl<>(comments, PageRequest.of(0, pageSize), hasMore);
+    }
+
+    /**
+     * Returns the task's current version with a single primary-key lookup, for conditional requests.
+     */
+    public long getVersion(Long taskId) {
+        return taskRepository.findVersionById(taskId)
+                .orElseThrow(() -> {
+                    log.error("Task not found with ID: {}", taskId);
+                    return new ResourceNotFoundException("Task not found");
+                });
+    }
+
+    /**
+     * Pages through the matching tasks newest first: by id, or by (createdAt, id) when the filter
+     * limits creation time so the range is read in index order. {@code cursor} is the
+     * {@code nextCursor} of the previous page.
+     */
+    @Timed(value = "tasks.list", description = "List tasks")
+    @ReadOnlyTransactional
+    public TaskPageResponse listTasks(TaskFilter filter, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        log.info("Listing tasks after cursor {} with page size {} and filter {}", cursor, pageSize, filter);
+
+        List<Long> ids;
+        List<TaskCursor> keys = null;
+        if (filter.hasCreatedRange()) {
+            TaskCursor position = cursor == null ? null : TaskCursor.decode(cursor);
+            keys = taskViewRepository.findKeysNewestCreatedFirst(TaskSpecifications.matching(filter, position), pageSize + 1);
+            ids = new ArrayList<>(keys.size());
+            keys.forEach(key -> ids.add(key.getId()));
+        } else {
+            ids = taskViewRepository.findIdsNewestFirst(TaskSpecifications.matching(filter, idCursor(cursor)), pageSize + 1);
+        }
+        boolean hasMore = ids.size() > pageSize;
+        List<TaskResponse> tasks = getTasks(hasMore ? ids.subList(0, pageSize) : ids);
+
+        String nextCursor = null;
+        if (hasMore) {
+            nextCursor = keys != null ? keys.get(pageSize - 1).encode() : String.valueOf(ids.get(pageSize - 1));
+        }
+        log.info("Retrieved {} tasks, more available: {}", tasks.size(), hasMore);
+        return new TaskPageResponse(tasks, nextCursor, hasMore);
+    }
+
+    /**
+     * Full-text search over task titles, descriptions and comments, best match first. Matching and
+     * ranking happen in {@link TaskSearchIndex}; only the tasks on the requested page are loaded.
+     */
+    @Timed(value = "tasks.search", description = "Search tasks")
+    @ReadOnlyTransactional
+    public TaskSearchResponse searchTasks(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("Search query must not be empty");
+        }
+        int pageNumber = page == null ? 0 : Math.max(0, page);
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        log.info("Searching tasks for '{}', page {} of size {}", query, pageNumber, pageSize);
+
+        Page<Long> hits = taskSearchIndex.search(query, pageNumber, pageSize);
+        List<TaskResponse> tasks = getTasks(hits.getContent());
+        log.info("Search for '{}' matched {} tasks", query, hits.getTotalElements());
+        return new TaskSearchResponse(query, hits.getTotalElements(), pageNumber, pageSize, hits.hasNext(), tasks);
+    }
+
+    /**
+     * Pages through the tasks still waiting on {@code approverId}, newest first. Reads the materialized
+     * {@code pending_approvals} rows that {@link TaskService} keeps in step with task writes, so the
+     * inbox never scans tasks or approvals.
+     */
+    @Timed(value = "tasks.pending.list", description = "List the tasks pending a user's approval")
+    @ReadOnlyTransactional
+    public Slice<TaskResponse> listPendingApprovals(Long approverId, Long cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        log.info("Listing tasks pending approval by user {} before cursor {} with page size {}",
+                approverId, cursor, pageSize);
+
+        Limit limit = Limit.of(pageSize + 1);
+        List<Long> ids = cursor == null
+                ? pendingApprovalRepository.findTaskIds(approverId, limit)
+                : pendingApprovalRepository.findTaskIdsBefore(approverId, cursor, limit);
+        if (ids.isEmpty()) {
+            requireUser(approverId);
+        }
+
+        boolean hasMore = ids.size() > pageSize;
+        List<TaskResponse> tasks = getTasks(hasMore ? ids.subList(0, pageSize) : ids);
+        return new SliceImpl<>(tasks, PageRequest.of(0, pageSize), hasMore);
+    }
+
+    @Timed(value = "tasks.pending.count", description = "Count the tasks pending a user's approval")
+    @ReadOnlyTransactional
+    public long countPendingApprovals(Long approverId) {
+        long pending = pendingApprovalRepository.countByApproverId(approverId);
+        if (pending == 0) {
+            requireUser(approverId);
+        }
+        return pending;
+    }
+
+    /**
+     * Returns the views of the given tasks in the order of {@code taskIds}; unknown IDs are skipped.
+     */
+    @Timed(value = "tasks.view.batch", description = "Load task views by ID")
+    public List<TaskResponse> getTasks(List<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<TaskRow> rows = taskViewRepository.findTaskRows(taskIds);
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return assemble(taskIds, rows, taskViewRepository.findApproverStatuses(taskIds));
+    }
+
+    /**
+     * Builds the views of {@code taskIds}, in that order, from the rows of the task and approver
+     * status projections; IDs without a task row are skipped.
+     */
+    public static List<TaskResponse> assemble(List<Long> taskIds, List<TaskRow> taskRows,
+                                              List<ApproverStatusRow> approverRows) {
+        Map<Long, TaskResponse> responses = new HashMap<>(taskRows.size() * 2);
+        for (TaskRow row : taskRows) {
+            UserSummaryDTO creator = row.getCreatorId() == null ? null
+                    : new UserSummaryDTO(row.getCreatorId(), row.getCreatorName(), row.getCreatorEmail());
+            responses.put(row.getId(), new TaskResponse(row.getId(), row.getTitle(), row.getDescription(),
+                    row.getStatus(), row.getVersion(), creator, new ArrayList<>(), row.getCommentCount(), new ArrayList<>()));
+        }
+
+        for (ApproverStatusRow row : approverRows) {
+            responses.get(row.getTaskId()).getApproverStatuses().add(new TaskResponse.ApproverStatus(
+                    row.getApproverId(), row.getName(), row.getEmail(),
+                    row.getApprovalId() != null, row.getApprovalDate()));
+        }
+
+        List<TaskResponse> ordered = new ArrayList<>(responses.size());
+        for (Long taskId : taskIds) {
+            TaskResponse response = responses.get(taskId);
+            if (response != null) {
+                ordered.add(response);
+            }
+        }
+        return ordered;
+    }
+
+    private static Long idCursor(String cursor) {
+        try {
+            return cursor == null ? null : Long.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid task cursor");
+        }
+    }
+
+    private void requireUser(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            log.error("User not found with ID: {}", userId);
+            throw new ResourceNotFoundException("User not found");
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.CommentTextRow;
+import com.example.taskapprovalsystem.dto.TaskTextRow;
+import com.example.taskapprovalsystem.repository.TaskViewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over task titles, descriptions and comments. Each term maps to the
+ * tasks containing it with a weighted term frequency (title 3, description 2, comment 1); queries
+ * match tasks containing every query term and rank them by tf-idf. The index is built from the
+ * database before the application starts serving and is then kept current by {@link TaskService}.
+ */
+@Component
+@Slf4j
+public class TaskSearchIndex implements SmartInitializingSingleton {
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final int MIN_TERM_LENGTH = 2;
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 2;
+    private static final int COMMENT_WEIGHT = 1;
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final TaskViewRepository taskViewRepository;
+    private final boolean rebuildOnStartup;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // title and description terms of every indexed task, so an update can take them out again
+    private Map<Long, Map<String, Integer>> taskTerms = new HashMap<>();
+
+    public TaskSearchIndex(TaskViewRepository taskViewRepository,
+                           @Value("${search.index.rebuild-on-startup:true}") boolean rebuildOnStartup) {
+        this.taskViewRepository = taskViewRepository;
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Replaces the index with one built from the tasks and comments currently in the database.
+     */
+    public void rebuild() {
+        long started = System.nanoTime();
+        Map<String, Map<Long, Integer>> newPostings = new HashMap<>();
+        Map<Long, Map<String, Integer>> newTaskTerms = new HashMap<>();
+
+        long afterId = 0;
+        List<TaskTextRow> taskRows;
+        do {
+            taskRows = taskViewRepository.findTaskTextAfter(afterId, Limit.of(REBUILD_BATCH_SIZE));
+            for (TaskTextRow row : taskRows) {
+                Map<String, Integer> terms = taskTerms(row.getTitle(), row.getDescription());
+                newTaskTerms.put(row.getId(), terms);
+                addTerms(newPostings, row.getId(), terms);
+                afterId = row.getId();
+            }
+        } while (taskRows.size() == REBUILD_BATCH_SIZE);
+
+        afterId = 0;
+        List<CommentTextRow> commentRows;
+        do {
+            commentRows = taskViewRepository.findCommentTextAfter(afterId, Limit.of(REBUILD_BATCH_SIZE));
+            for (CommentTextRow row : commentRows) {
+                Map<String, Integer> terms = terms(row.getContent(), COMMENT_WEIGHT, new HashMap<>());
+                newTaskTerms.computeIfAbsent(row.getTaskId(), id -> new HashMap<>());
+                addTerms(newPostings, row.getTaskId(), terms);
+                afterId = row.getId();
+            }
+        } while (commentRows.size() == REBUILD_BATCH_SIZE);
+
+        lock.writeLock().lock();
+        try {
+            postings = newPostings;
+            taskTerms = newTaskTerms;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search index rebuilt with {} tasks and {} terms in {} ms",
+                newTaskTerms.size(), newPostings.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Indexes a new task, or replaces the title and description terms of an indexed one.
+     */
+    public void indexTask(Long taskId, String title, String description) {
+        Map<String, Integer> terms = taskTerms(title, description);
+        lock.writeLock().lock();
+        try {
+            Map<String, Integer> previous = taskTerms.put(taskId, terms);
+            if (previous != null) {
+                removeTerms(postings, taskId, previous);
+            }
+            addTerms(postings, taskId, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void indexComment(Long taskId, String content) {
+        Map<String, Integer> terms = terms(content, COMMENT_WEIGHT, new HashMap<>());
+        if (terms.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            taskTerms.computeIfAbsent(taskId, id -> new HashMap<>());
+            addTerms(postings, taskId, terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns one page of the IDs of tasks containing every term of {@code query}, best match
+     * first; ties go to the newer task.
+     */
+    public Page<Long> search(String query, int page, int size) {
+        Set<String> queryTerms = terms(query, 1, new LinkedHashMap<>()).keySet();
+        PageRequest pageRequest = PageRequest.of(page, size);
+        if (queryTerms.isEmpty()) {
+            return new PageImpl<>(new ArrayList<>(), pageRequest, 0);
+        }
+
+        List<Map.Entry<Long, Double>> matches;
+        lock.readLock().lock();
+        try {
+            List<Map<Long, Integer>> termPostings = new ArrayList<>(queryTerms.size());
+            for (String term : queryTerms) {
+                Map<Long, Integer> taskWeights = postings.get(term);
+                if (taskWeights == null) {
+                    return new PageImpl<>(new ArrayList<>(), pageRequest, 0);
+                }
+                termPostings.add(taskWeights);
+            }
+            termPostings.sort(Comparator.comparingInt(Map::size));
+
+            double taskCount = taskTerms.size();
+            double[] idf = new double[termPostings.size()];
+            for (int i = 0; i < idf.length; i++) {
+                idf[i] = Math.log(1 + taskCount / termPostings.get(i).size());
+            }
+
+            matches = new ArrayList<>();
+            candidates:
+            for (Map.Entry<Long, Integer> candidate : termPostings.get(0).entrySet()) {
+                double score = candidate.getValue() * idf[0];
+                for (int i = 1; i < termPostings.size(); i++) {
+                    Integer weight = termPostings.get(i).get(candidate.getKey());
+                    if (weight == null) {
+                        continue candidates;
+                    }
+                    score += weight * idf[i];
+                }
+                matches.add(Map.entry(candidate.getKey(), score));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()));
+        int from = (int) Math.min(pageRequest.getOffset(), matches.size());
+        int to = Math.min(from + size, matches.size());
+        List<Long> taskIds = new ArrayList<>(to - from);
+        for (Map.Entry<Long, Double> match : matches.subList(from, to)) {
+            taskIds.add(match.getKey());
+        }
+        return new PageImpl<>(taskIds, pageRequest, matches.size());
+    }
+
+    private static Map<String, Integer> taskTerms(String title, String description) {
+        Map<String, Integer> terms = new HashMap<>();
+        terms(title, TITLE_WEIGHT, terms);
+        terms(description, DESCRIPTION_WEIGHT, terms);
+        return terms;
+    }
+
+    /**
+     * Adds the lower-cased terms of {@code text} to {@code terms}, each occurrence counting {@code weight}.
+     */
+    private static Map<String, Integer> terms(String text, int weight, Map<String, Integer> terms) {
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        for (String token : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= MIN_TERM_LENGTH && token.length() <= MAX_TERM_LENGTH) {
+                terms.merge(token, weight, Integer::sum);
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerms(Map<String, Map<Long, Integer>> postings, Long taskId, Map<String, Integer> terms) {
+        terms.forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).merge(taskId, weight, Integer::sum));
+    }
+
+    private static void removeTerms(Map<String, Map<Long, Integer>> postings, Long taskId, Map<String, Integer> terms) {
+        terms.forEach((term, weight) -> {
+            Map<Long, Integer> taskWeights = postings.get(term);
+            if (taskWeights == null) {
+                return;
+            }
+            taskWeights.computeIfPresent(taskId, (id, current) -> current > weight ? current - weight : null);
+            if (taskWeights.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+    }
+}
@@ -1,22 +1,41 @@
 package com.example.taskapprovalsystem.service;
 
+import com.example.taskapprovalsystem.dto.ApprovalOutcome;
 import com.example.taskapprovalsystem.dto.CommentDTO;
+import com.example.taskapprovalsystem.dto.TaskApprovalResult;
+import com.example.taskapprovalsystem.dto.TaskApprovalState;
+import com.example.taskapprovalsystem.dto.TaskChangeEvent;
+import com.example.taskapprovalsystem.dto.TaskChangeType;
 import com.example.taskapprovalsystem.dto.TaskDTO;
 import com.example.taskapprovalsystem.dto.TaskUpdateDTO;
+import com.example.taskapprovalsystem.dto.UserSummaryDTO;
 import com.example.taskapprovalsystem.entity.*;
+import com.example.taskapprovalsystem.exception.ConflictException;
+import com.example.taskapprovalsystem.exception.InvalidRequestException;
+import com.example.taskapprovalsystem.exception.PreconditionFailedException;
 import com.example.taskapprovalsystem.exception.ResourceNotFoundException;
 import com.example.taskapprovalsystem.exception.UnauthorizedOperationException;
+import com.example.taskapprovalsystem.repository.ApprovalRepository;
 import com.example.taskapprovalsystem.repository.CommentRepository;
+import com.example.taskapprovalsystem.repository.PendingApprovalRepository;
 import com.example.taskapprovalsystem.repository.TaskRepository;
 import com.example.taskapprovalsystem.repository.UserRepository;
 import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,143 +44,338 @@ import java.util.stream.Collectors;
 public class TaskService {
     private static final String ADMIN_EMAIL = "test@@gmail.com";
     private static final String MANAGER_EMAIL = "test@gmail.com";
+    private static final String TASK_CREATED = "TASK_CREATED";
+    private static final String APPROVAL_REQUESTED = "APPROVAL_REQUESTED";
+    private static final String TASK_APPROVED = "TASK_APPROVED";
+    private static final int MAX_CONFLICT_ATTEMPTS = 4;
+    private static final long CONFLICT_BACKOFF_MS = 20;
+    private static final int MAX_BATCH_SIZE = 5000;
 
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
-    private final EmailService emailService;
+    private final UserSummaryCache userSummaryCache;
+    private final NotificationOutbox notificationOutbox;
     private final CommentRepository commentRepository;
-
-    public TaskService(TaskRepository taskRepository, UserRepository userRepository,
-                       EmailService emailService, CommentRepository commentRepository) {
+    private final ApprovalRepository approvalRepository;
+    private final TransactionOperations transactionOperations;
+    private final MeterRegistry meterRegistry;
+    private final TaskSearchIndex taskSearchIndex;
+    private final PendingApprovalRepository pendingApprovalRepository;
+    private final TaskChangeBroadcaster taskChangeBroadcaster;
+    private final ApprovalPolicies approvalPolicies;
+    private final TaskEventLog taskEventLog;
+
+    public TaskService(TaskRepository taskRepository, UserRepository userRepository, UserSummaryCache userSummaryCache,
+                       NotificationOutbox notificationOutbox, CommentRepository commentRepository,
+                       ApprovalRepository approvalRepository, TransactionOperations transactionOperations,
+                       MeterRegistry meterRegistry, TaskSearchIndex taskSearchIndex,
+                       PendingApprovalRepository pendingApprovalRepository,
+                       TaskChangeBroadcaster taskChangeBroadcaster, ApprovalPolicies approvalPolicies,
+                       TaskEventLog taskEventLog) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
-        this.emailService = emailService;
+        this.userSummaryCache = userSummaryCache;
+        this.notificationOutbox = notificationOutbox;
         this.commentRepository = commentRepository;
+        this.approvalRepository = approvalRepository;
+        this.transactionOperations = transactionOperations;
+        this.meterRegistry = meterRegistry;
+        this.taskSearchIndex = taskSearchIndex;
+        this.pendingApprovalRepository = pendingApprovalRepository;
+        this.taskChangeBroadcaster = taskChangeBroadcaster;
+        this.approvalPolicies = approvalPolicies;
+        this.taskEventLog = taskEventLog;
     }
 
+    @Timed(value = "tasks.create", description = "Create a task")
     public Task createTask(TaskDTO taskDTO, Long creatorId) {
         log.info("Creating new task with title: {} by creator ID: {}", taskDTO.getTitle(), creatorId);
 
-        User creator = userRepository.findById(creatorId)
+        UserSummaryDTO creator = userSummaryCache.find(creatorId)
                 .orElseThrow(() -> {
                     log.error("Creator not found with ID: {}", creatorId);
                     return new ResourceNotFoundException("Creator not found");
                 });
 
-        Task task = new Task();
-        task.setTitle(taskDTO.getTitle());
-        task.setDescription(taskDTO.getDescription());
-        task.setStatus(TaskStatus.PENDING);
-        task.setCreator(creator);
-
-        Set<User> approvers = new HashSet<>();
-        for (Long approverId : taskDTO.getApproverIds()) {
-            User approver = userRepository.findById(approverId)
-                    .orElseThrow(() -> {
-                        log.error("Approver not found with ID: {}", approverId);
-                        return new ResourceNotFoundException("Approver not found");
-                    });
-            approvers.add(approver);
-        }
-        task.setApprovers(approvers);
+        Set<User> approvers = resolveApprovers(taskDTO.getApproverIds());
+        Task task = buildTask(taskDTO, userRepository.getReferenceById(creatorId), approvers);
 
         Task savedTask = taskRepository.save(task);
         log.info("Task created successfully with ID: {}", savedTask.getId());
+        if (!approvers.isEmpty()) {
+            pendingApprovalRepository.addForTasks(Collections.singletonList(savedTask.getId()));
+        }
+        recordCreated(savedTask, creatorId);
+        indexAfterCommit(savedTask);
+        publishAfterCommit(TaskChangeType.TASK_CREATED, savedTask.getId(), TaskStatus.PENDING, creatorId,
+                () -> approvers);
 
-        try {
-            emailService.sendEmail(ADMIN_EMAIL, "New Task Created",
-                    String.format("Task '%s' created by %s", task.getTitle(), creator.getName()));
+        notificationOutbox.enqueue(TASK_CREATED, ADMIN_EMAIL, "New Task Created",
+                String.format("Task '%s' created by %s", task.getTitle(), creator.getName()));
 
-            for (User approver : approvers) {
-                emailService.sendEmail(approver.getEmail(), "New Task Requires Your Approval",
-                        String.format("Task '%s' requires your approval", task.getTitle()));
-            }
-        } catch (Exception e) {
-            log.error("Error sending notification emails for task: {}", savedTask.getId(), e);
+        for (User approver : approvers) {
+            notificationOutbox.enqueue(APPROVAL_REQUESTED, approver.getEmail(), "New Task Requires Your Approval",
+                    String.format("Task '%s' requires your approval", task.getTitle()));
         }
 
         return savedTask;
     }
 
+    @Timed(value = "tasks.create.batch", description = "Create a batch of tasks")
+    public List<Task> createTasks(List<TaskDTO> taskDTOs, Long creatorId) {
+        if (taskDTOs == null || taskDTOs.isEmpty() || taskDTOs.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestException("A batch must contain between 1 and " + MAX_BATCH_SIZE + " tasks");
+        }
+        log.info("Creating batch of {} tasks by creator ID: {}", taskDTOs.size(), creatorId);
+
+        UserSummaryDTO creator = userSummaryCache.find(creatorId)
+                .orElseThrow(() -> {
+                    log.error("Creator not found with ID: {}", creatorId);
+                    return new ResourceNotFoundException("Creator not found");
+                });
+
+        Set<Long> allApproverIds = new HashSet<>();
+        taskDTOs.stream()
+                .filter(dto -> dto.getApproverIds() != null)
+                .forEach(dto -> allApproverIds.addAll(dto.getApproverIds()));
+        Map<Long, User> approversById = resolveApprovers(allApproverIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        User creatorReference = userRepository.getReferenceById(creatorId);
+        Map<User, Integer> requestsPerApprover = new HashMap<>();
+        List<Task> tasks = new ArrayList<>(taskDTOs.size());
+        for (TaskDTO dto : taskDTOs) {
+            Set<User> approvers = new HashSet<>();
+            if (dto.getApproverIds() != null) {
+                dto.getApproverIds().forEach(id -> approvers.add(approversById.get(id)));
+            }
+            approvers.forEach(approver -> requestsPerApprover.merge(approver, 1, Integer::sum));
+            tasks.add(buildTask(dto, creatorReference, approvers));
+        }
+
+        List<Task> savedTasks = taskRepository.saveAll(tasks);
+        log.info("Batch of {} tasks created by creator ID: {}", savedTasks.size(), creatorId);
+        if (!requestsPerApprover.isEmpty()) {
+            pendingApprovalRepository.addForTasks(savedTasks.stream().map(Task::getId).toList());
+        }
+        for (Task savedTask : savedTasks) {
+            recordCreated(savedTask, creatorId);
+            indexAfterCommit(savedTask);
+            publishAfterCommit(TaskChangeType.TASK_CREATED, savedTask.getId(), TaskStatus.PENDING, creatorId,
+                    savedTask::getApprovers);
+        }
+
+        notificationOutbox.enqueue(TASK_CREATED, ADMIN_EMAIL, "New Tasks Created",
+                String.format("%d tasks created by %s", savedTasks.size(), creator.getName()));
+        requestsPerApprover.forEach((approver, count) ->
+                notificationOutbox.enqueue(APPROVAL_REQUESTED, approver.getEmail(), "New Tasks Require Your Approval",
+                        String.format("%d new tasks require your approval", count)));
+
+        return savedTasks;
+    }
+
+    /**
+     * Approves the task in its own transaction, retrying when a concurrent update wins the
+     * optimistic lock. {@code view} runs inside the successful transaction.
+     */
+    @Timed(value = "tasks.approve", description = "Approve a task")
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public <R> R approveTask(Long taskId, Long approverId, Function<Task, R> view) {
+        return retryOnConflict("approve", () -> view.apply(approveTask(taskId, approverId)));
+    }
+
+    @Timed(value = "tasks.approve", description = "Approve a task")
     public Task approveTask(Long taskId, Long approverId) {
         log.info("Processing approval for task ID: {} by approver ID: {}", taskId, approverId);
 
-        Task task = taskRepository.findById(taskId)
+        TaskApprovalState state = taskRepository.findApprovalState(taskId)
                 .orElseThrow(() -> {
                     log.error("Task not found with ID: {}", taskId);
                     return new ResourceNotFoundException("Task not found");
                 });
-
-        User approver = userRepository.findById(approverId)
-                .orElseThrow(() -> {
-                    log.error("Approver not found with ID: {}", approverId);
-                    return new ResourceNotFoundException("Approver not found");
-                });
-
-        if (!task.getApprovers().contains(approver)) {
+        if (userSummaryCache.find(approverId).isEmpty()) {
+            log.error("Approver not found with ID: {}", approverId);
+            throw new ResourceNotFoundException("Approver not found");
+        }
+        if (!taskRepository.isApprover(taskId, approverId)) {
             log.error("User {} is not an approver for task {}", approverId, taskId);
             throw new UnauthorizedOperationException("User is not an approver for this task");
         }
+        if (approvalRepository.existsByTaskIdAndApproverId(taskId, approverId)) {
+            log.error("User {} has already approved task {}", approverId, taskId);
+            throw new ConflictException("User has already approved this task");
+        }
 
         Approval approval = new Approval();
-        approval.setTask(task);
-        approval.setApprover(approver);
+        approval.setTask(taskRepository.getReferenceById(taskId));
+        approval.setApprover(userRepository.getReferenceById(approverId));
         approval.setApprovalDate(LocalDateTime.now());
         approval.setApproved(true);
-        task.getApprovals().add(approval);
+        ApprovalPolicy policy = approvalPolicies.forTask(state.getApprovalPolicy());
+        try {
+            approvalRepository.save(approval);
+            // flushes the insert, then bumps the totals in SQL; the row lock taken here is held
+            // until commit, so the totals re-read below cannot be stale
+            Contribution contribution = Contribution.of(policy, approverId);
+            taskRepository.recordApproval(taskId, contribution.weight(), contribution.required());
+        } catch (DataIntegrityViolationException e) {
+            log.error("Concurrent duplicate approval of task {} by user {}", taskId, approverId);
+            throw new ConflictException("User has already approved this task");
+        }
+        pendingApprovalRepository.removeForApprover(approverId, Collections.singletonList(taskId));
+        taskEventLog.approved(Collections.singletonList(taskId), approverId);
 
-        if (task.getApprovals().size() >= 3) {
+        Task task = getTask(taskId);
+        boolean fullyApproved = task.getStatus() != TaskStatus.APPROVED && approvalPolicies.forTask(task.getApprovalPolicy())
+                .isSatisfied(task.getApprovalCount(), task.getApprovalWeight(), task.getRequiredRemaining());
+        if (fullyApproved) {
             log.info("Task {} has received all required approvals", taskId);
             task.setStatus(TaskStatus.APPROVED);
+            pendingApprovalRepository.removeForTasks(Collections.singletonList(taskId));
+            taskEventLog.statusChanged(Collections.singletonList(taskId), TaskStatus.APPROVED, approverId);
+            notifyFullyApproved(task);
+        }
+        publishAfterCommit(TaskChangeType.APPROVAL_RECORDED, taskId, task.getStatus(), approverId, task::getApprovers);
+        if (fullyApproved) {
+            publishAfterCommit(TaskChangeType.STATUS_CHANGED, taskId, TaskStatus.APPROVED, approverId, task::getApprovers);
+        }
+
+        log.info("Task {} updated with new approval from user {}, {} approvals so far",
+                taskId, approverId, task.getApprovalCount());
+        return task;
+    }
+
+    /**
+     * Records one approver's approval on many tasks at once and reports the outcome per task, in
+     * request order. Membership and earlier approvals are checked with set-based queries, the
+     * approvals are batch-inserted and counters and status transitions are applied in bulk.
+     */
+    @Timed(value = "tasks.approve.batch", description = "Approve a batch of tasks")
+    public List<TaskApprovalResult> approveTasks(List<Long> taskIds, Long approverId) {
+        if (taskIds == null || taskIds.isEmpty() || taskIds.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestException("A batch must contain between 1 and " + MAX_BATCH_SIZE + " tasks");
+        }
+        Set<Long> requestedIds = new LinkedHashSet<>(taskIds);
+        log.info("Processing batch approval of {} tasks by approver ID: {}", requestedIds.size(), approverId);
+
+        if (userSummaryCache.find(approverId).isEmpty()) {
+            log.error("Approver not found with ID: {}", approverId);
+            throw new ResourceNotFoundException("Approver not found");
+        }
+
+        Map<Long, ApprovalPolicy> policies = new HashMap<>();
+        for (TaskApprovalState state : taskRepository.findApprovalStatesWithApprover(requestedIds, approverId)) {
+            policies.put(state.getId(), approvalPolicies.forTask(state.getApprovalPolicy()));
+        }
+        Set<Long> memberOf = policies.keySet();
+        Set<Long> alreadyApproved = memberOf.isEmpty() ? new HashSet<>()
+                : new HashSet<>(approvalRepository.findApprovedTaskIds(approverId, memberOf));
+        Set<Long> existing = memberOf.size() == requestedIds.size() ? requestedIds
+                : new HashSet<>(taskRepository.findExistingIds(requestedIds));
+
+        List<Long> toApprove = new ArrayList<>();
+        List<Approval> approvals = new ArrayList<>();
+        User approver = userRepository.getReferenceById(approverId);
+        LocalDateTime now = LocalDateTime.now();
+        for (Long taskId : requestedIds) {
+            if (memberOf.contains(taskId) && !alreadyApproved.contains(taskId)) {
+                Approval approval = new Approval();
+                approval.setTask(taskRepository.getReferenceById(taskId));
+                approval.setApprover(approver);
+                approval.setApprovalDate(now);
+                approval.setApproved(true);
+                approvals.add(approval);
+                toApprove.add(taskId);
+            }
+        }
 
+        Set<Long> fullyApproved = new HashSet<>();
+        if (!toApprove.isEmpty()) {
             try {
-                emailService.sendEmail(MANAGER_EMAIL, "Task Fully Approved",
-                        String.format("Task '%s' has received all approvals", task.getTitle()));
-
-                Set<String> emails = new HashSet<>();
-                emails.add(task.getCreator().getEmail());
-                task.getApprovers().forEach(a -> emails.add(a.getEmail()));
-
-                emails.forEach(email ->
-                        emailService.sendEmail(email, "Task Approved",
-                                String.format("Task '%s' has been approved by all approvers", task.getTitle()))
-                );
-            } catch (Exception e) {
-                log.error("Error sending approval notification emails for task: {}", taskId, e);
+                approvalRepository.saveAll(approvals);
+                // one UPDATE per distinct (weight, required) pair, usually just one
+                Map<Contribution, List<Long>> byContribution = new LinkedHashMap<>();
+                for (Long taskId : toApprove) {
+                    byContribution.computeIfAbsent(Contribution.of(policies.get(taskId), approverId),
+                            contribution -> new ArrayList<>()).add(taskId);
+                }
+                byContribution.forEach((contribution, ids) ->
+                        taskRepository.recordApprovals(ids, contribution.weight(), contribution.required()));
+            } catch (DataIntegrityViolationException e) {
+                log.error("Concurrent duplicate approval in batch by user {}", approverId);
+                throw new ConflictException("Some of these tasks were approved concurrently, please retry");
+            }
+            pendingApprovalRepository.removeForApprover(approverId, toApprove);
+            taskEventLog.approved(toApprove, approverId);
+
+            for (TaskApprovalState state : taskRepository.findApprovalStates(toApprove)) {
+                if (state.getStatus() != TaskStatus.APPROVED && approvalPolicies.forTask(state.getApprovalPolicy())
+                        .isSatisfied(state.getApprovalCount(), state.getApprovalWeight(), state.getRequiredRemaining())) {
+                    fullyApproved.add(state.getId());
+                }
             }
+            if (!fullyApproved.isEmpty()) {
+                taskRepository.markApproved(fullyApproved);
+                pendingApprovalRepository.removeForTasks(fullyApproved);
+                taskEventLog.statusChanged(fullyApproved, TaskStatus.APPROVED, approverId);
+                taskRepository.findAllById(fullyApproved).forEach(this::notifyFullyApproved);
+            }
+            publishBatchApproval(toApprove, fullyApproved, approverId);
         }
 
-        Task updatedTask = taskRepository.save(task);
-        log.info("Task {} updated with new approval from user {}", taskId, approverId);
-        return updatedTask;
+        List<TaskApprovalResult> results = new ArrayList<>(requestedIds.size());
+        for (Long taskId : requestedIds) {
+            ApprovalOutcome outcome;
+            if (fullyApproved.contains(taskId)) {
+                outcome = ApprovalOutcome.FULLY_APPROVED;
+            } else if (alreadyApproved.contains(taskId)) {
+                outcome = ApprovalOutcome.ALREADY_APPROVED;
+            } else if (memberOf.contains(taskId)) {
+                outcome = ApprovalOutcome.APPROVED;
+            } else if (existing.contains(taskId)) {
+                outcome = ApprovalOutcome.NOT_AN_APPROVER;
+            } else {
+                outcome = ApprovalOutcome.NOT_FOUND;
+            }
+            results.add(new TaskApprovalResult(taskId, outcome));
+        }
+        log.info("Batch approval by user {} recorded {} approvals, {} tasks fully approved",
+                approverId, toApprove.size(), fullyApproved.size());
+        return results;
     }
 
+    @Timed(value = "tasks.comment", description = "Comment on a task")
     public Comment addComment(Long taskId, Long userId, CommentDTO commentDTO) {
         log.info("Adding comment to task ID: {} by user ID: {}", taskId, userId);
 
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> {
-                    log.error("Task not found with ID: {}", taskId);
-                    return new ResourceNotFoundException("Task not found");
-                });
-
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> {
-                    log.error("User not found with ID: {}", userId);
-                    return new ResourceNotFoundException("User not found");
-                });
+        if (userSummaryCache.find(userId).isEmpty()) {
+            log.error("User not found with ID: {}", userId);
+            throw new ResourceNotFoundException("User not found");
+        }
+        // a new comment changes the task view, so it moves the task's version (and ETag) as well
+        if (taskRepository.incrementCommentCount(taskId) == 0) {
+            log.error("Task not found with ID: {}", taskId);
+            throw new ResourceNotFoundException("Task not found");
+        }
 
         Comment comment = new Comment();
-        comment.setTask(task);
-        comment.setUser(user);
+        comment.setTask(taskRepository.getReferenceById(taskId));
+        comment.setUser(userRepository.getReferenceById(userId));
         comment.setContent(commentDTO.getContent());
         comment.setCreatedAt(LocalDateTime.now());
 
         Comment savedComment = commentRepository.save(comment);
+        // flushes the insert first, so the comment's change sequence stays within its task's
+        taskRepository.markChanged(taskId);
         log.info("Comment added successfully to task {} with ID: {}", taskId, savedComment.getId());
+        taskEventLog.commented(taskId, savedComment.getId(), userId);
+        afterCommit(() -> taskSearchIndex.indexComment(taskId, commentDTO.getContent()));
+        publishAfterCommit(TaskChangeType.COMMENT_ADDED, taskId, null, userId,
+                () -> getTask(taskId).getApprovers());
         return savedComment;
     }
 
+    @Timed(value = "tasks.get", description = "Load a task entity")
     public Task getTask(Long taskId) {
         log.info("Fetching task with ID: {}", taskId);
         return taskRepository.findById(taskId)
@@ -171,21 +385,23 @@ public class TaskService {
                 });
     }
 
-    public List<Task> getAllTasks() {
-        log.info("Fetching all tasks with approvers");
-        List<Task> tasks = taskRepository.findAllWithApprovers();
-
-        tasks.forEach(task -> {
-            task.getApprovals().size();
-            task.getComments().size();
-        });
-
-        log.info("Retrieved {} tasks", tasks.size());
-        return tasks;
+    /**
+     * Updates the task in its own transaction, retrying on optimistic-lock conflicts. When
+     * {@code expectedVersions} is set the update only applies to one of those versions of the task.
+     */
+    @Timed(value = "tasks.update", description = "Update a task")
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public <R> R updateTask(Long taskId, TaskUpdateDTO updateDTO, Set<Long> expectedVersions, Function<Task, R> view) {
+        return retryOnConflict("update", () -> view.apply(updateTask(taskId, updateDTO, expectedVersions)));
     }
 
-    @Transactional
+    @Timed(value = "tasks.update", description = "Update a task")
     public Task updateTask(Long taskId, TaskUpdateDTO updateDTO) {
+        return updateTask(taskId, updateDTO, null);
+    }
+
+    @Timed(value = "tasks.update", description = "Update a task")
+    public Task updateTask(Long taskId, TaskUpdateDTO updateDTO, Set<Long> expectedVersions) {
         log.info("Updating task ID: {} with new details", taskId);
 
         Task task = taskRepository.findById(taskId)
@@ -193,6 +409,10 @@ public class TaskService {
                     log.error("Task not found with ID: {}", taskId);
                     return new ResourceNotFoundException("Task not found");
                 });
+        if (expectedVersions != null && !expectedVersions.contains(task.getVersion())) {
+            log.error("Task {} is at version {}, update expected one of {}", taskId, task.getVersion(), expectedVersions);
+            throw new PreconditionFailedException("Task has been modified since it was last read");
+        }
 
         if (updateDTO.getTitle() != null) {
             task.setTitle(updateDTO.getTitle());
@@ -201,43 +421,196 @@ public class TaskService {
             task.setDescription(updateDTO.getDescription());
         }
 
+        Set<Long> newApproverIds = Collections.emptySet();
         if (updateDTO.getApproverIds() != null && !updateDTO.getApproverIds().isEmpty()) {
-            Set<User> newApprovers = new HashSet<>();
-            newApprovers.addAll(task.getApprovers());
-
-            for (Long approverId : updateDTO.getApproverIds()) {
-                User approver = userRepository.findById(approverId)
-                        .orElseThrow(() -> {
-                            log.error("Approver not found with ID: {}", approverId);
-                            return new ResourceNotFoundException("Approver not found");
-                        });
-                newApprovers.add(approver);
+            newApproverIds = addedApproverIds(task.getApprovers(), updateDTO.getApproverIds());
+            for (User newApprover : resolveApprovers(newApproverIds)) {
+                task.getApprovers().add(newApprover);
+                notificationOutbox.enqueue(APPROVAL_REQUESTED, newApprover.getEmail(),
+                        "New Task Requires Your Approval",
+                        String.format("Task '%s' requires your approval", task.getTitle()));
+            }
+            if (!newApproverIds.isEmpty() && task.getApprovalPolicy() != null) {
+                task.setApprovalPolicy(approvalPolicies.forTask(task.getApprovalPolicy())
+                        .withApproverCount(task.getApprovers().size()).encode());
             }
-
-            task.setApprovers(newApprovers);
-
-            updateDTO.getApproverIds().stream()
-                    .filter(id -> !task.getApprovers().stream()
-                            .map(User::getId)
-                            .collect(Collectors.toSet())
-                            .contains(id))
-                    .forEach(newApproverId -> {
-                        User newApprover = userRepository.findById(newApproverId)
-                                .orElseThrow(() -> new ResourceNotFoundException("Approver not found"));
-                        try {
-                            emailService.sendEmail(
-                                    newApprover.getEmail(),
-                                    "New Task Requires Your Approval",
-                                    String.format("Task '%s' requires your approval", task.getTitle())
-                            );
-                        } catch (Exception e) {
-                            log.error("Failed to send email to new approver: {}", newApproverId, e);
-                        }
-                    });
         }
 
         Task updatedTask = taskRepository.save(task);
+        taskRepository.markChanged(taskId);
         log.info("Task {} updated successfully", taskId);
+        if (updateDTO.getTitle() != null || updateDTO.getDescription() != null) {
+            taskEventLog.detailsUpdated(taskId, updateDTO.getTitle(), updateDTO.getDescription());
+        }
+        if (!newApproverIds.isEmpty()) {
+            pendingApprovalRepository.addForApprovers(taskId, newApproverIds);
+            taskEventLog.approversAdded(taskId, newApproverIds);
+        }
+        indexAfterCommit(updatedTask);
+        publishAfterCommit(TaskChangeType.TASK_UPDATED, taskId, updatedTask.getStatus(), null,
+                updatedTask::getApprovers);
         return updatedTask;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the requested approver IDs that are not approvers of the task yet.
+     */
+    static Set<Long> addedApproverIds(Collection<User> currentApprovers, Collection<Long> requestedApproverIds) {
+        Set<Long> currentApproverIds = new HashSet<>(currentApprovers.size() * 2);
+        currentApprovers.forEach(approver -> currentApproverIds.add(approver.getId()));
+        Set<Long> addedApproverIds = new HashSet<>();
+        for (Long id : requestedApproverIds) {
+            if (!currentApproverIds.contains(id)) {
+                addedApproverIds.add(id);
+            }
+        }
+        return addedApproverIds;
+    }
+
+    private void recordCreated(Task task, Long creatorId) {
+        List<Long> approverIds = new ArrayList<>(task.getApprovers().size());
+        task.getApprovers().forEach(approver -> approverIds.add(approver.getId()));
+        taskEventLog.created(task.getId(), task.getTitle(), task.getDescription(), creatorId, approverIds);
+    }
+
+    private void indexAfterCommit(Task task) {
+        Long taskId = task.getId();
+        String title = task.getTitle();
+        String description = task.getDescription();
+        afterCommit(() -> taskSearchIndex.indexTask(taskId, title, description));
+    }
+
+    /**
+     * Queues a change event for the task stream, published once the transaction commits. Skipped
+     * when nobody is subscribed; {@code approvers} is only resolved when a subscriber filters by
+     * approver.
+     */
+    private void publishAfterCommit(TaskChangeType type, Long taskId, TaskStatus status, Long actorId,
+                                    Supplier<? extends Collection<User>> approvers) {
+        if (!taskChangeBroadcaster.hasSubscribers()) {
+            return;
+        }
+        Set<Long> approverIds = new HashSet<>();
+        if (taskChangeBroadcaster.hasApproverSubscribers()) {
+            approvers.get().forEach(approver -> approverIds.add(approver.getId()));
+        }
+        TaskChangeEvent event = new TaskChangeEvent(type, taskId, status, actorId, LocalDateTime.now(), approverIds);
+        afterCommit(() -> taskChangeBroadcaster.publish(event));
+    }
+
+    private void publishBatchApproval(List<Long> approvedIds, Set<Long> fullyApproved, Long approverId) {
+        if (!taskChangeBroadcaster.hasSubscribers()) {
+            return;
+        }
+        Map<Long, Set<User>> approversByTask = new HashMap<>();
+        if (taskChangeBroadcaster.hasApproverSubscribers()) {
+            taskRepository.findAllById(approvedIds).forEach(task -> approversByTask.put(task.getId(), task.getApprovers()));
+        }
+        for (Long taskId : approvedIds) {
+            Supplier<Set<User>> approvers = () -> approversByTask.getOrDefault(taskId, Collections.emptySet());
+            if (fullyApproved.contains(taskId)) {
+                publishAfterCommit(TaskChangeType.APPROVAL_RECORDED, taskId, TaskStatus.APPROVED, approverId, approvers);
+                publishAfterCommit(TaskChangeType.STATUS_CHANGED, taskId, TaskStatus.APPROVED, approverId, approvers);
+            } else {
+                publishAfterCommit(TaskChangeType.APPROVAL_RECORDED, taskId, null, approverId, approvers);
+            }
+        }
+    }
+
+    /**
+     * Runs {@code action} once the current transaction commits, so rolled-back changes never reach
+     * in-memory state; runs it right away outside a transaction.
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void notifyFullyApproved(Task task) {
+        notificationOutbox.enqueue(TASK_APPROVED, MANAGER_EMAIL, "Task Fully Approved",
+                String.format("Task '%s' has received all approvals", task.getTitle()));
+
+        Set<String> emails = new HashSet<>();
+        userSummaryCache.find(task.getCreator().getId()).ifPresent(creator -> emails.add(creator.getEmail()));
+        task.getApprovers().forEach(a -> emails.add(a.getEmail()));
+
+        emails.forEach(email ->
+                notificationOutbox.enqueue(TASK_APPROVED, email, "Task Approved",
+                        String.format("Task '%s' has been approved by all approvers", task.getTitle()))
+        );
+    }
+
+    private Task buildTask(TaskDTO taskDTO, User creator, Set<User> approvers) {
+        Task task = new Task();
+        task.setTitle(taskDTO.getTitle());
+        task.setDescription(taskDTO.getDescription());
+        task.setStatus(TaskStatus.PENDING);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setCreator(creator);
+        task.setApprovers(approvers);
+        Set<Long> approverIds = new HashSet<>(approvers.size() * 2);
+        approvers.forEach(approver -> approverIds.add(approver.getId()));
+        ApprovalPolicy policy = approvalPolicies.compile(taskDTO.getApprovalPolicy(), approverIds);
+        task.setApprovalPolicy(policy.encode());
+        task.setRequiredRemaining(policy.requiredApproverCount());
+        return task;
+    }
+
+    private Set<User> resolveApprovers(Collection<Long> approverIds) {
+        if (approverIds == null || approverIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<Long> requestedIds = new HashSet<>(approverIds);
+        Set<User> approvers = new HashSet<>(userRepository.findAllById(requestedIds));
+        if (approvers.size() != requestedIds.size()) {
+            approvers.forEach(approver -> requestedIds.remove(approver.getId()));
+            log.error("Approvers not found with IDs: {}", requestedIds);
+            throw new ResourceNotFoundException("Approvers not found: " + new TreeSet<>(requestedIds));
+        }
+        return approvers;
+    }
+
+    private <R> R retryOnConflict(String operation, Supplier<R> attempt) {
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return transactionOperations.execute(status -> attempt.get());
+            } catch (OptimisticLockingFailureException e) {
+                meterRegistry.counter("tasks.optimistic.conflicts", "operation", operation).increment();
+                if (attemptNumber >= MAX_CONFLICT_ATTEMPTS) {
+                    meterRegistry.counter("tasks.optimistic.retries.exhausted", "operation", operation).increment();
+                    log.error("Giving up on task {} after {} conflicting attempts", operation, attemptNumber);
+                    throw new ConflictException("Task was modified concurrently, please retry");
+                }
+                log.warn("Conflicting task {} on attempt {}, retrying", operation, attemptNumber);
+                backOff(attemptNumber);
+            }
+        }
+    }
+
+    private void backOff(int attemptNumber) {
+        long delay = CONFLICT_BACKOFF_MS * attemptNumber + ThreadLocalRandom.current().nextLong(CONFLICT_BACKOFF_MS);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while retrying a conflicting task update");
+        }
+    }
+
+    /**
+     * What one approval adds to a task's running totals under its policy.
+     */
+    private record Contribution(int weight, int required) {
+        static Contribution of(ApprovalPolicy policy, Long approverId) {
+            return new Contribution(policy.weightOf(approverId), policy.isRequired(approverId) ? 1 : 0);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.TaskStatusCount;
+import com.example.taskapprovalsystem.entity.TaskStatus;
+import com.example.taskapprovalsystem.repository.TaskRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the number of tasks in each status as the {@code tasks.by.status} gauge. The counts
+ * are refreshed with one grouped query on a schedule, so scrapes never touch the database.
+ */
+@Component
+@Slf4j
+public class TaskStatusMetrics {
+    private final TaskRepository taskRepository;
+    private final Map<TaskStatus, AtomicLong> counts = new EnumMap<>(TaskStatus.class);
+
+    public TaskStatusMetrics(TaskRepository taskRepository, MeterRegistry meterRegistry) {
+        this.taskRepository = taskRepository;
+        for (TaskStatus status : TaskStatus.values()) {
+            AtomicLong count = new AtomicLong();
+            counts.put(status, count);
+            Gauge.builder("tasks.by.status", count, AtomicLong::get)
+                    .description("Number of tasks in each status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${metrics.tasks.status-refresh-ms:30000}")
+    public void refresh() {
+        Map<TaskStatus, Long> current = new EnumMap<>(TaskStatus.class);
+        try {
+            for (TaskStatusCount row : taskRepository.countTasksByStatus()) {
+                if (row.getStatus() != null) {
+                    current.put(row.getStatus(), row.getCount());
+                }
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to refresh task status metrics", e);
+            return;
+        }
+        counts.forEach((status, count) -> count.set(current.getOrDefault(status, 0L)));
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.CommentResponse;
+import com.example.taskapprovalsystem.dto.TaskChangeRow;
+import com.example.taskapprovalsystem.dto.TaskChangesResponse;
+import com.example.taskapprovalsystem.dto.TaskResponse;
+import com.example.taskapprovalsystem.exception.InvalidRequestException;
+import com.example.taskapprovalsystem.repository.TaskViewRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta sync over the task change feed. Every write to a task, including new approvals and comments,
+ * gives the task row a fresh value from {@code task_changes_seq}; a sync reads the tasks whose
+ * sequence is past the client's token through the {@code change_seq} index.
+ *
+ * <p>Sequence values are handed out before commit, so a transaction can commit after another one
+ * with a higher value. Changes younger than {@code tasks.changes.settle-ms} are therefore held back
+ * and the token never moves past them; the delay has to stay well above the longest write
+ * transaction. Both {@code updated_at} and the cutoff come from the database clock, so application
+ * servers with skewed clocks still agree on what has settled.
+ */
+@Service
+@Slf4j
+@Transactional
+public class TaskSyncService {
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final TaskViewRepository taskViewRepository;
+    private final TaskQueryService taskQueryService;
+    private final Duration settleDelay;
+
+    public TaskSyncService(TaskViewRepository taskViewRepository, TaskQueryService taskQueryService,
+                           @Value("${tasks.changes.settle-ms:5000}") long settleMs) {
+        this.taskViewRepository = taskViewRepository;
+        this.taskQueryService = taskQueryService;
+        this.settleDelay = Duration.ofMillis(settleMs);
+    }
+
+    /**
+     * Returns the tasks changed after {@code since} (0 or null for a full sync), oldest change first.
+     */
+    @Timed(value = "tasks.changes", description = "Read the task change feed")
+    public TaskChangesResponse listChanges(Long since, Integer size) {
+        long token = since == null ? 0 : since;
+        if (token < 0) {
+            throw new InvalidRequestException("Invalid sync token");
+        }
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<TaskChangeRow> rows = taskViewRepository.findChangedSince(token, Limit.of(pageSize + 1));
+        List<Long> taskIds = new ArrayList<>(Math.min(rows.size(), pageSize));
+        long nextToken = token;
+        boolean hasMore = false;
+        for (TaskChangeRow row : rows) {
+            if (taskIds.size() == pageSize) {
+                hasMore = true;
+                break;
+            }
+            if (row.getUpdatedAt() != null && !row.getUpdatedAt().isBefore(row.getReadAt().minus(settleDelay))) {
+                // earlier sequence values may still be committing, pick this one up on a later sync
+                break;
+            }
+            taskIds.add(row.getId());
+            nextToken = row.getChangeSeq();
+        }
+        if (taskIds.isEmpty()) {
+            return new TaskChangesResponse(new ArrayList<>(), new ArrayList<>(), nextToken, false);
+        }
+
+        List<TaskResponse> tasks = taskQueryService.getTasks(taskIds);
+        List<CommentResponse> comments = taskViewRepository.findCommentsAddedSince(taskIds, token, nextToken);
+        log.info("Sync after token {} returned {} tasks and {} comments, next token {}",
+                token, tasks.size(), comments.size(), nextToken);
+        return new TaskChangesResponse(tasks, comments, nextToken, hasMore);
+    }
+}
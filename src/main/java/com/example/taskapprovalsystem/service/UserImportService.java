@@ -0,0 +1,279 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.UserDTO;
+import com.example.taskapprovalsystem.dto.UserImportError;
+import com.example.taskapprovalsystem.dto.UserImportFormat;
+import com.example.taskapprovalsystem.dto.UserImportResponse;
+import com.example.taskapprovalsystem.entity.User;
+import com.example.taskapprovalsystem.exception.InvalidRequestException;
+import com.example.taskapprovalsystem.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Streams users from a CSV or NDJSON body and imports them chunk by chunk. Each chunk is validated
+ * against the database with one query, its passwords are hashed in parallel, and it is inserted in
+ * its own transaction through JDBC batches. Bad rows are reported and skipped.
+ */
+@Service
+@Slf4j
+public class UserImportService {
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final TransactionOperations transactionOperations;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public UserImportService(UserRepository userRepository,
+                             PasswordHasher passwordHasher,
+                             TransactionOperations transactionOperations,
+                             @Value("${users.import.chunk-size:500}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.transactionOperations = transactionOperations;
+        this.objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        this.chunkSize = chunkSize;
+    }
+
+    @Timed(value = "users.import", description = "Import users in bulk")
+    public UserImportResponse importUsers(InputStream body, UserImportFormat format) {
+        log.info("Starting {} user import", format);
+        UserImportResponse result = new UserImportResponse();
+        Set<String> seenEmails = new HashSet<>();
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            RowParser parser = format == UserImportFormat.CSV ? new CsvRowParser() : this::parseJsonRow;
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                UserDTO user;
+                try {
+                    user = parser.parse(line);
+                } catch (InvalidRowException e) {
+                    reject(result, lineNumber, null, e.getMessage());
+                    continue;
+                }
+                if (user == null) {
+                    continue;
+                }
+                String problem = validate(user);
+                if (problem != null) {
+                    reject(result, lineNumber, user.getEmail(), problem);
+                } else if (!seenEmails.add(user.getEmail())) {
+                    reject(result, lineNumber, user.getEmail(), "Duplicate email in import");
+                } else {
+                    chunk.add(new ImportRow(lineNumber, user));
+                    if (chunk.size() >= chunkSize) {
+                        importChunk(chunk, result);
+                        chunk.clear();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read user import", e);
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, result);
+        }
+
+        log.info("User import finished: {} imported, {} failed", result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private void importChunk(List<ImportRow> chunk, UserImportResponse result) {
+        Map<String, ImportRow> byEmail = new LinkedHashMap<>();
+        chunk.forEach(row -> byEmail.put(row.user.getEmail(), row));
+        for (String existing : userRepository.findExistingEmails(byEmail.keySet())) {
+            ImportRow row = byEmail.remove(existing);
+            if (row != null) {
+                reject(result, row.lineNumber, existing, "Email already exists");
+            }
+        }
+        if (byEmail.isEmpty()) {
+            return;
+        }
+
+        List<ImportRow> rows = new ArrayList<>(byEmail.values());
+        List<String> hashes = passwordHasher.hashAll(rows.stream().map(row -> row.user.getPassword()).toList());
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).passwordHash = hashes.get(i);
+        }
+
+        try {
+            transactionOperations.executeWithoutResult(status ->
+                    userRepository.saveAllAndFlush(rows.stream().map(ImportRow::toUser).toList()));
+            result.setImported(result.getImported() + rows.size());
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent signup took one of these emails after the check above; isolate it row by row
+            log.warn("Chunk of {} users hit a constraint violation, retrying rows individually", rows.size());
+            for (ImportRow row : rows) {
+                try {
+                    transactionOperations.executeWithoutResult(status -> userRepository.saveAndFlush(row.toUser()));
+                    result.setImported(result.getImported() + 1);
+                } catch (DataIntegrityViolationException rowFailure) {
+                    reject(result, row.lineNumber, row.user.getEmail(), "Email already exists");
+                }
+            }
+        }
+    }
+
+    private String validate(UserDTO user) {
+        if (user.getName() == null || user.getName().isBlank()) {
+            return "Name is required";
+        }
+        if (user.getEmail() == null || !user.getEmail().contains("@")) {
+            return "A valid email is required";
+        }
+        if (user.getPassword() == null || user.getPassword().isEmpty()) {
+            return "Password is required";
+        }
+        return null;
+    }
+
+    private void reject(UserImportResponse result, long lineNumber, String email, String error) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new UserImportError(lineNumber, email, error));
+        }
+    }
+
+    private UserDTO parseJsonRow(String line) {
+        try {
+            UserDTO user = objectMapper.readValue(line, UserDTO.class);
+            if (user == null) {
+                throw new InvalidRowException("Malformed JSON row");
+            }
+            user.setEmail(user.getEmail() == null ? null : user.getEmail().trim());
+            return user;
+        } catch (JsonProcessingException e) {
+            throw new InvalidRowException("Malformed JSON row");
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        /**
+         * Returns the user on this line, or {@code null} for lines that carry no user (e.g. a header).
+         */
+        UserDTO parse(String line);
+    }
+
+    /**
+     * Parses CSV rows with a header naming the {@code name}, {@code email} and {@code password}
+     * columns in any order. Supports quoted fields with {@code ""} escapes on a single line.
+     */
+    private static class CsvRowParser implements RowParser {
+        private int nameColumn = -1;
+        private int emailColumn = -1;
+        private int passwordColumn = -1;
+        private boolean headerRead;
+
+        @Override
+        public UserDTO parse(String line) {
+            List<String> fields = splitCsvLine(line);
+            if (!headerRead) {
+                for (int i = 0; i < fields.size(); i++) {
+                    switch (fields.get(i).trim().toLowerCase(Locale.ROOT)) {
+                        case "name" -> nameColumn = i;
+                        case "email" -> emailColumn = i;
+                        case "password" -> passwordColumn = i;
+                        default -> { }
+                    }
+                }
+                if (nameColumn < 0 || emailColumn < 0 || passwordColumn < 0) {
+                    throw new InvalidRequestException("CSV header must name the name, email and password columns");
+                }
+                headerRead = true;
+                return null;
+            }
+
+            int required = Math.max(nameColumn, Math.max(emailColumn, passwordColumn));
+            if (fields.size() <= required) {
+                throw new InvalidRowException("Expected at least " + (required + 1) + " columns");
+            }
+            UserDTO user = new UserDTO();
+            user.setName(fields.get(nameColumn).trim());
+            user.setEmail(fields.get(emailColumn).trim());
+            user.setPassword(fields.get(passwordColumn));
+            return user;
+        }
+
+        private static List<String> splitCsvLine(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new InvalidRowException("Unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    private static class InvalidRowException extends RuntimeException {
+        InvalidRowException(String message) {
+            super(message);
+        }
+    }
+
+    private static class ImportRow {
+        private final long lineNumber;
+        private final UserDTO user;
+        private String passwordHash;
+
+        ImportRow(long lineNumber, UserDTO user) {
+            this.lineNumber = lineNumber;
+            this.user = user;
+        }
+
+        User toUser() {
+            User entity = new User();
+            entity.setName(user.getName());
+            entity.setEmail(user.getEmail());
+            entity.setPassword(passwordHash);
+            return entity;
+        }
+    }
+}
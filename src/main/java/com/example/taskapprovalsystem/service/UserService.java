@@ -1,11 +1,12 @@
 package com.example.taskapprovalsystem.service;
 
+import com.example.taskapprovalsystem.config.ReadOnlyTransactional;
 import com.example.taskapprovalsystem.dto.UserDTO;
 import com.example.taskapprovalsystem.entity.User;
 import com.example.taskapprovalsystem.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,23 +16,33 @@ import java.util.List;
 @Transactional
 public class UserService {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final UserSummaryCache userSummaryCache;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordHasher passwordHasher,
+                       UserSummaryCache userSummaryCache) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
+        this.userSummaryCache = userSummaryCache;
     }
 
+    /**
+     * Hashes the password on the bounded hashing pool before any transaction starts, so no database
+     * connection is held while waiting for it.
+     */
+    @Timed(value = "users.create", description = "Create a user")
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public User createUser(UserDTO userDTO) {
         log.info("Creating user with email: {}", userDTO.getEmail());
         try {
             User user = new User();
             user.setName(userDTO.getName());
             user.setEmail(userDTO.getEmail());
-            user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+            user.setPassword(passwordHasher.hash(userDTO.getPassword()));
 
             log.debug("User object created: {}", user);
             User savedUser = userRepository.save(user);
+            userSummaryCache.invalidate(savedUser.getId());
             log.info("User successfully saved with ID: {}", savedUser.getId());
             return savedUser;
         } catch (Exception e) {
@@ -40,6 +51,8 @@ public class UserService {
         }
     }
 
+    @Timed(value = "users.list", description = "List users")
+    @ReadOnlyTransactional
     public List<User> getAllUsers() {
         log.info("Fetching all users from the database");
         try {
@@ -0,0 +1,67 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.UserSummaryDTO;
+import com.example.taskapprovalsystem.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Bounded in-process cache of user summaries (id, name, email), loaded through a projection query.
+ * Unknown IDs are never cached, so a user created after a miss is found on the next lookup.
+ */
+@Component
+@Slf4j
+public class UserSummaryCache {
+    private final UserRepository userRepository;
+    private final Cache<Long, UserSummaryDTO> cache;
+
+    public UserSummaryCache(UserRepository userRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${users.cache.maximum-size:10000}") long maximumSize,
+                            @Value("${users.cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users.summary");
+    }
+
+    public Optional<UserSummaryDTO> find(Long userId) {
+        return Optional.ofNullable(cache.get(userId, id -> {
+            List<UserSummaryDTO> loaded = userRepository.findSummariesByIdIn(Collections.singleton(id));
+            return loaded.isEmpty() ? null : loaded.get(0);
+        }));
+    }
+
+    /**
+     * Returns the summaries of the given users keyed by ID, loading all misses with one query.
+     * IDs that do not exist are absent from the result.
+     */
+    public Map<Long, UserSummaryDTO> findAll(Collection<Long> userIds) {
+        return cache.getAll(userIds, missing -> {
+            Map<Long, UserSummaryDTO> loaded = new HashMap<>();
+            userRepository.findSummariesByIdIn(new HashSet<>(missing))
+                    .forEach(summary -> loaded.put(summary.getId(), summary));
+            return loaded;
+        });
+    }
+
+    public void invalidate(Long userId) {
+        log.debug("Evicting user {} from the summary cache", userId);
+        cache.invalidate(userId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+}
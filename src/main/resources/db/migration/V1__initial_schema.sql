@@ -0,0 +1,51 @@
+-- Schema of the first release, as spring.jpa.hibernate.ddl-auto=update created it. Databases from
+-- that release are baselined at this version (spring.flyway.baseline-on-migrate) and run V2 onwards.
+
+create table users (
+    id bigint generated by default as identity,
+    email varchar(255) unique,
+    name varchar(255),
+    password varchar(255),
+    primary key (id)
+);
+
+create table tasks (
+    creator_id bigint,
+    id bigint generated by default as identity,
+    description varchar(255),
+    status varchar(255) check (status in ('PENDING', 'IN_PROGRESS', 'APPROVED', 'REJECTED')),
+    title varchar(255),
+    primary key (id)
+);
+
+create table tasks_approvers (
+    task_id bigint not null,
+    user_id bigint not null,
+    primary key (task_id, user_id)
+);
+
+create table approvals (
+    approved boolean not null,
+    approval_date timestamp(6),
+    approver_id bigint,
+    id bigint generated by default as identity,
+    task_id bigint,
+    primary key (id)
+);
+
+create table comments (
+    created_at timestamp(6),
+    id bigint generated by default as identity,
+    task_id bigint,
+    user_id bigint,
+    content varchar(255),
+    primary key (id)
+);
+
+alter table if exists approvals add constraint FKkh8kt9y5pin7d4qxs8i7pak8d foreign key (approver_id) references users;
+alter table if exists approvals add constraint FK3s667b3xtqjakn4gpqwcyoibe foreign key (task_id) references tasks;
+alter table if exists comments add constraint FKi7pp0331nbiwd2844kg78kfwb foreign key (task_id) references tasks;
+alter table if exists comments add constraint FK8omq0tc18jd43bu5tjh6jvraq foreign key (user_id) references users;
+alter table if exists tasks add constraint FKt1ph5sat39g9lpa4g5kl46tbv foreign key (creator_id) references users;
+alter table if exists tasks_approvers add constraint FK9nsuw7rfctdd6pbxoku8kf0uc foreign key (user_id) references users;
+alter table if exists tasks_approvers add constraint FK8843opk1nbbuh3afss68fv25e foreign key (task_id) references tasks;
@@ -0,0 +1,77 @@
+-- Columns and tables added since the first release: sequence-allocated ids, optimistic locking,
+-- approval counters and policies, the change feed, approver inboxes, the mail outbox and the task
+-- event log. Existing rows are brought in line by the backfill migrations that follow.
+
+-- ids move from IDENTITY columns to sequences Hibernate allocates from in blocks of 50; V6 moves
+-- each sequence past the ids already taken
+create sequence if not exists users_seq start with 1 increment by 50;
+create sequence if not exists tasks_seq start with 1 increment by 50;
+create sequence if not exists approvals_seq start with 1 increment by 50;
+create sequence if not exists comments_seq start with 1 increment by 50;
+create sequence if not exists outbox_events_seq start with 1 increment by 50;
+-- task events take ids one at a time so they are numbered in commit order per task
+create sequence if not exists task_events_seq start with 1 increment by 1;
+alter table users alter column id drop identity if exists;
+alter table tasks alter column id drop identity if exists;
+alter table approvals alter column id drop identity if exists;
+alter table comments alter column id drop identity if exists;
+
+-- change feed position, taken by every write to a task or comment
+create sequence if not exists task_changes_seq start with 1 increment by 1;
+
+alter table tasks
+    add column if not exists version bigint default 0 not null,
+    add column if not exists created_at timestamp(6),
+    add column if not exists change_seq bigint default nextval('task_changes_seq'),
+    add column if not exists updated_at timestamp(6) default localtimestamp,
+    add column if not exists approval_count integer default 0 not null,
+    add column if not exists comment_count integer default 0 not null,
+    add column if not exists approval_policy varchar(4000),
+    add column if not exists approval_weight integer default 0 not null,
+    add column if not exists required_remaining integer default 0 not null;
+
+alter table comments
+    add column if not exists change_seq bigint default nextval('task_changes_seq');
+
+create table if not exists pending_approvals (
+    approver_id bigint not null,
+    task_id bigint not null,
+    primary key (approver_id, task_id)
+);
+
+create table if not exists outbox_events (
+    id bigint not null,
+    event_type varchar(255),
+    recipient varchar(255),
+    subject varchar(255),
+    body varchar(4000),
+    status varchar(255) check (status in ('PENDING', 'SENT', 'FAILED')),
+    attempts integer not null,
+    created_at timestamp(6),
+    next_attempt_at timestamp(6),
+    sent_at timestamp(6),
+    last_error varchar(1000),
+    primary key (id)
+);
+
+create table if not exists task_events (
+    id bigint not null,
+    task_id bigint not null,
+    type varchar(255) not null check (type in ('CREATED', 'DETAILS_UPDATED', 'APPROVER_ADDED', 'APPROVED',
+        'STATUS_CHANGED', 'COMMENTED')),
+    actor_id bigint,
+    subject_id bigint,
+    status varchar(255) check (status in ('PENDING', 'IN_PROGRESS', 'APPROVED', 'REJECTED')),
+    title varchar(255),
+    description varchar(255),
+    occurred_at timestamp(6) not null,
+    primary key (id)
+);
+
+create table if not exists task_snapshots (
+    task_id bigint not null,
+    last_event_id bigint not null,
+    state jsonb,
+    taken_at timestamp(6),
+    primary key (task_id)
+);
@@ -0,0 +1,14 @@
+-- The first release let an approver approve the same task more than once. Keep each approver's
+-- first approval of a task and drop the repeats, which would otherwise be counted again by the
+-- counter backfill, before the unique constraint can be added.
+delete from approvals a
+using approvals first
+where a.task_id = first.task_id
+  and a.approver_id = first.approver_id
+  and a.id > first.id;
+
+alter table approvals drop constraint if exists uk_approvals_task_approver;
+alter table approvals add constraint uk_approvals_task_approver unique (task_id, approver_id);
+
+-- tasks an approver already approved (batch approval); the unique constraint covers the task side
+create index if not exists idx_approvals_approver_task on approvals (approver_id, task_id);
@@ -0,0 +1,24 @@
+-- Secondary indexes for the service queries.
+
+-- task listings (GET /api/tasks): newest first, optionally by status, creator or creation time
+create index if not exists idx_tasks_status_id on tasks (status, id);
+create index if not exists idx_tasks_creator_id on tasks (creator_id, id);
+create index if not exists idx_tasks_created_at_id on tasks (created_at, id);
+-- delta sync (GET /api/tasks/changes)
+create index if not exists idx_tasks_change_seq on tasks (change_seq);
+
+-- approver filter and approver checks by user; the primary key covers lookups by task
+create index if not exists idx_tasks_approvers_user_task on tasks_approvers (user_id, task_id);
+
+-- comment pages and comments added since a sync token
+create index if not exists idx_comments_task_created_at_id on comments (task_id, created_at, id);
+create index if not exists idx_comments_task_change_seq on comments (task_id, change_seq);
+
+-- clearing an approved task from every approver's inbox
+create index if not exists idx_pending_approvals_task on pending_approvals (task_id);
+
+-- outbox dispatcher poll
+create index if not exists idx_outbox_events_status_next_attempt on outbox_events (status, next_attempt_at, id);
+
+-- task timeline and state replay
+create index if not exists idx_task_events_task_id on task_events (task_id, id);
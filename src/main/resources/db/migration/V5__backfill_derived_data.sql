@@ -0,0 +1,26 @@
+-- Brings rows written before V2 in line with what the service now maintains. Every statement is a
+-- recomputation, so this is a no-op on a new database. Runs after V3, so duplicate approvals are
+-- gone before they are counted.
+
+-- counters kept on the task row
+update tasks t set
+    approval_count = (select count(*) from approvals a where a.task_id = t.id and a.approved),
+    comment_count = (select count(*) from comments c where c.task_id = t.id);
+
+-- tasks without a stored policy count every approval with weight 1 and have no required approvers
+update tasks set approval_weight = approval_count, required_remaining = 0 where approval_policy is null;
+
+-- change feed position and last write time for rows the column defaults did not fill
+update tasks set change_seq = nextval('task_changes_seq') where change_seq is null;
+update tasks set updated_at = coalesce(created_at, localtimestamp) where updated_at is null;
+update comments set change_seq = nextval('task_changes_seq') where change_seq is null;
+
+-- approver inboxes: every approver of a task that is not approved and that they have not approved
+insert into pending_approvals (approver_id, task_id)
+select ta.user_id, ta.task_id
+from tasks_approvers ta
+join tasks t on t.id = ta.task_id
+where t.status is distinct from 'APPROVED'
+  and not exists (select 1 from approvals a
+                  where a.task_id = ta.task_id and a.approver_id = ta.user_id and a.approved)
+on conflict do nothing;
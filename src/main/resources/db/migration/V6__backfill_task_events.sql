@@ -0,0 +1,48 @@
+-- Tasks from before the event log have no events, so their state could not be rebuilt. Record
+-- what their rows still show, in the order the service would have logged it: creation with the
+-- current title and description, the current approvers, each approval, each comment and, for a
+-- task that left PENDING, the status change. Tasks without a creation time are dated by their
+-- earliest approval or comment, or the migration time when they have neither.
+with legacy as (
+    select t.id, t.creator_id, t.title, t.description, t.status,
+           coalesce(t.created_at,
+                    least((select min(a.approval_date) from approvals a where a.task_id = t.id),
+                          (select min(c.created_at) from comments c where c.task_id = t.id)),
+                    localtimestamp) as created_at
+    from tasks t
+    where not exists (select 1 from task_events e where e.task_id = t.id)
+),
+events as (
+    select l.id as task_id, 0 as phase, 0::bigint as ordinal, 'CREATED' as type, l.creator_id as actor_id,
+           null::bigint as subject_id, 'PENDING' as status, l.title, l.description, l.created_at as occurred_at
+    from legacy l
+    union all
+    select l.id, 1, ta.user_id, 'APPROVER_ADDED', l.creator_id, ta.user_id, null, null, null, l.created_at
+    from legacy l join tasks_approvers ta on ta.task_id = l.id
+    union all
+    select l.id, 2, a.id, 'APPROVED', a.approver_id, null, null, null, null, coalesce(a.approval_date, l.created_at)
+    from legacy l join approvals a on a.task_id = l.id and a.approved
+    union all
+    select l.id, 2, c.id, 'COMMENTED', c.user_id, c.id, null, null, null, coalesce(c.created_at, l.created_at)
+    from legacy l join comments c on c.task_id = l.id
+    union all
+    select l.id, 3, 0, 'STATUS_CHANGED', null, null, l.status, null, null,
+           coalesce((select max(a.approval_date) from approvals a where a.task_id = l.id and a.approved), l.created_at)
+    from legacy l
+    where l.status is not null and l.status <> 'PENDING'
+)
+insert into task_events (id, task_id, type, actor_id, subject_id, status, title, description, occurred_at)
+select (select coalesce(max(id), 0) from task_events)
+           + row_number() over (order by task_id, phase = 0 desc, phase = 1 desc, occurred_at, phase, ordinal),
+       task_id, type, actor_id, subject_id, status, title, description, occurred_at
+from events;
+
+-- ids were IDENTITY columns before the sequences, and the events above took ids directly; move each
+-- sequence past the ids already taken (Hibernate's pooled optimizer hands out the 50 ids up to each
+-- value it reads; task events take one id per read)
+select setval('users_seq', greatest((select coalesce(max(id), 0) from users) + 50, (select last_value from users_seq)));
+select setval('tasks_seq', greatest((select coalesce(max(id), 0) from tasks) + 50, (select last_value from tasks_seq)));
+select setval('approvals_seq', greatest((select coalesce(max(id), 0) from approvals) + 50, (select last_value from approvals_seq)));
+select setval('comments_seq', greatest((select coalesce(max(id), 0) from comments) + 50, (select last_value from comments_seq)));
+select setval('outbox_events_seq', greatest((select coalesce(max(id), 0) from outbox_events) + 50, (select last_value from outbox_events_seq)));
+select setval('task_events_seq', greatest((select coalesce(max(id), 0) from task_events) + 1, (select last_value from task_events_seq)));
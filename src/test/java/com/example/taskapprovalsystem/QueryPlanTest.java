@@ -0,0 +1,245 @@
+package com.example.taskapprovalsystem;
+
+import com.example.taskapprovalsystem.dto.TaskFilter;
+import com.example.taskapprovalsystem.entity.OutboxStatus;
+import com.example.taskapprovalsystem.entity.TaskStatus;
+import com.example.taskapprovalsystem.repository.ApprovalRepository;
+import com.example.taskapprovalsystem.repository.OutboxEventRepository;
+import com.example.taskapprovalsystem.repository.TaskRepository;
+import com.example.taskapprovalsystem.repository.UserRepository;
+import com.example.taskapprovalsystem.service.TaskHistoryService;
+import com.example.taskapprovalsystem.service.TaskQueryService;
+import com.example.taskapprovalsystem.service.TaskSyncService;
+import com.example.taskapprovalsystem.support.SqlStatementCounts;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Builds the schema from the Flyway migrations on PostgreSQL, lets Hibernate validate the entities
+ * against it, and checks on a seeded dataset that the SQL the service's hot paths send, captured
+ * through {@link SqlStatementCounts}, is planned on the expected indexes rather than sequential
+ * scans. The plans are made with the values the service bound, as PostgreSQL
+ * plans the first executions of a prepared statement. Needs Docker and is skipped without it.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = {
+        "management.health.mail.enabled=false",
+        "notifications.outbox.poll-interval-ms=3600000",
+        "tasks.events.snapshot-interval-ms=3600000",
+        "search.index.rebuild-on-startup=false",
+        "tasks.changes.settle-ms=0"
+})
+@Import(QueryPlanTest.BoundParameters.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+    private static final int USERS = 50_000;
+    private static final int TASKS = 50_000;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskQueryService taskQueryService;
+
+    @Autowired
+    private TaskHistoryService taskHistoryService;
+
+    @Autowired
+    private TaskSyncService taskSyncService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ApprovalRepository approvalRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @MockBean
+    private JavaMailSender mailSender;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("insert into users (id, email, name, password) " +
+                "select u, 'user' || u || '@example.com', 'User ' || u, 'secret' from generate_series(1, ?) u", USERS);
+        // 1% rejected, 9% approved, the rest pending; three approvers per task
+        jdbcTemplate.update("insert into tasks (id, title, description, status, created_at, updated_at, creator_id) " +
+                "select t, 'Task ' || t, 'Description ' || t, " +
+                "case when t % 100 = 0 then 'REJECTED' when t % 10 = 0 then 'APPROVED' else 'PENDING' end, " +
+                "localtimestamp - t * interval '1 minute', localtimestamp, t % ? + 1 from generate_series(1, ?) t",
+                USERS, TASKS);
+        jdbcTemplate.update("insert into tasks_approvers (task_id, user_id) " +
+                "select t, (t + k * 1667) % ? + 1 from generate_series(1, ?) t, generate_series(0, 2) k", USERS, TASKS);
+        jdbcTemplate.update("insert into approvals (id, task_id, approver_id, approval_date, approved) " +
+                "select row_number() over (), task_id, user_id, localtimestamp, true " +
+                "from tasks_approvers ta join tasks t on t.id = ta.task_id where t.status = 'APPROVED'");
+        jdbcTemplate.update("insert into pending_approvals (approver_id, task_id) " +
+                "select user_id, task_id from tasks_approvers ta join tasks t on t.id = ta.task_id " +
+                "where t.status <> 'APPROVED'");
+        jdbcTemplate.update("insert into comments (id, task_id, user_id, content, created_at) " +
+                "select t * 4 + c, t, t % ? + 1, 'Comment ' || c, localtimestamp - c * interval '1 second' " +
+                "from generate_series(1, ?) t, generate_series(0, 3) c", USERS, TASKS);
+        jdbcTemplate.update("insert into task_events (id, task_id, type, actor_id, occurred_at) " +
+                "select t * 2 + e, t, case when e = 0 then 'CREATED' else 'COMMENTED' end, t % ? + 1, localtimestamp " +
+                "from generate_series(1, ?) t, generate_series(0, 1) e", USERS, TASKS);
+        jdbcTemplate.update("insert into outbox_events (id, event_type, recipient, status, attempts, created_at, " +
+                "next_attempt_at, sent_at) select e, 'TASK_APPROVED', 'user@example.com', " +
+                "case when e % 1000 = 0 then 'PENDING' else 'SENT' end, 1, localtimestamp, localtimestamp, localtimestamp " +
+                "from generate_series(1, 20000) e");
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void taskListings_UseListingIndexes() throws Exception {
+        assertPlansUse(() -> taskQueryService.listTasks(filter(null, 7L, null), null, 20), "idx_tasks_creator_id");
+        assertPlansUse(() -> taskQueryService.listTasks(filter(TaskStatus.REJECTED, null, null), null, 20),
+                "idx_tasks_status_id");
+        assertPlansUse(() -> taskQueryService.listTasks(filter(null, null, 7L), null, 20),
+                "idx_tasks_approvers_user_task");
+        assertPlansUse(() -> taskQueryService.listPendingApprovals(7L, null, 20), "pending_approvals_pkey");
+    }
+
+    @Test
+    void approvalChecks_UseApproverIndexes() throws Exception {
+        assertPlansUse(() -> taskRepository.isApprover(4242L, 7L),
+                "tasks_approvers_pkey", "idx_tasks_approvers_user_task");
+        assertPlansUse(() -> approvalRepository.existsByTaskIdAndApproverId(4240L, 7L),
+                "uk_approvals_task_approver", "idx_approvals_approver_task");
+        assertPlansUse(() -> approvalRepository.findApprovedTaskIds(7L, List.of(4240L, 4250L, 4260L)),
+                "idx_approvals_approver_task", "uk_approvals_task_approver");
+        assertPlansUse(() -> userRepository.findExistingEmails(List.of("user7@example.com")), "users_email_key");
+    }
+
+    @Test
+    void taskDetails_UseTaskIndexes() throws Exception {
+        assertPlansUse(() -> taskQueryService.listComments(4242L, null, 20), "idx_comments_task_created_at_id");
+        assertPlansUse(() -> taskHistoryService.getTimeline(4242L, null, 50), "idx_task_events_task_id");
+        long token = jdbcTemplate.queryForObject("select max(change_seq) - 10 from tasks", Long.class);
+        assertPlansUse(() -> taskSyncService.listChanges(token, 100), "idx_tasks_change_seq");
+        assertPlansUse(() -> transactionTemplate.executeWithoutResult(status -> outboxEventRepository
+                        .findDueForDispatch(OutboxStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, 100))),
+                "idx_outbox_events_status_next_attempt");
+    }
+
+    /**
+     * Runs {@code work} and EXPLAINs every query it sent, with the arguments it bound. Fails when a
+     * plan scans a table sequentially, or when no plan reads through one of {@code indexes}.
+     */
+    private void assertPlansUse(SqlStatementCounts.Work work, String... indexes) throws Exception {
+        List<String> plans = new ArrayList<>();
+        for (String sql : SqlStatementCounts.count(work).getSelects()) {
+            if (!sql.toLowerCase(Locale.ROOT).contains(" from ")) {
+                // sequence reads
+                continue;
+            }
+            Object[] arguments = BoundParameters.BOUND.get(sql).values().toArray();
+            String plan = String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class, arguments));
+            assertThat(plan).as("Plan for %s", sql).doesNotContain("Seq Scan");
+            plans.add(plan);
+        }
+        assertThat(String.join("\n", plans))
+                .as("Plans for %s", plans)
+                .containsPattern("(using|on) (" + String.join("|", indexes) + ")\\b");
+    }
+
+    private static TaskFilter filter(TaskStatus status, Long creatorId, Long approverId) {
+        return new TaskFilter(status, creatorId, approverId, null, null);
+    }
+
+    /**
+     * Records the values bound to each prepared statement, by SQL, so the captured queries can be
+     * planned with the arguments the application sent rather than with placeholders.
+     */
+    @TestConfiguration
+    static class BoundParameters {
+        static final Map<String, SortedMap<Integer, Object>> BOUND = new ConcurrentHashMap<>();
+
+        @Bean
+        static BeanPostProcessor recordBoundParameters() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? proxy(DataSource.class, dataSource, null) : bean;
+                }
+            };
+        }
+
+        private static <T> T proxy(Class<T> type, T target, String sql) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    (proxy, method, args) -> invoke(target, method, args, sql)));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args, String sql) throws Throwable {
+            if (sql != null && method.getName().startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer index) {
+                BOUND.get(sql).put(index, method.getName().equals("setNull") ? null : args[1]);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                BOUND.put((String) args[0], Collections.synchronizedSortedMap(new TreeMap<>()));
+                return proxy(PreparedStatement.class, statement, (String) args[0]);
+            }
+            if (result instanceof Connection connection && method.getName().equals("getConnection")) {
+                return proxy(Connection.class, connection, null);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.example.taskapprovalsystem;
+
+import com.example.taskapprovalsystem.dto.CommentDTO;
+import com.example.taskapprovalsystem.dto.TaskDTO;
+import com.example.taskapprovalsystem.dto.TaskUpdateDTO;
+import com.example.taskapprovalsystem.dto.UserDTO;
+import com.example.taskapprovalsystem.entity.OutboxEvent;
+import com.example.taskapprovalsystem.entity.OutboxStatus;
+import com.example.taskapprovalsystem.entity.Task;
+import com.example.taskapprovalsystem.entity.User;
+import com.example.taskapprovalsystem.exception.UnauthorizedOperationException;
+import com.example.taskapprovalsystem.repository.OutboxEventRepository;
+import com.example.taskapprovalsystem.repository.TaskRepository;
+import com.example.taskapprovalsystem.repository.UserRepository;
+import com.example.taskapprovalsystem.service.TaskHistoryService;
+import com.example.taskapprovalsystem.service.TaskService;
+import com.example.taskapprovalsystem.service.UserService;
+import com.example.taskapprovalsystem.support.SqlStatementCounts;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements the task hot paths issue against an in-memory database, with
+ * statement budgets enforced, so N+1 regressions fail here instead of showing up as slow requests.
+ */
+@SpringBootTest(properties = {
+        // the migrations create task_changes_seq on PostgreSQL; create-drop needs it before the tables
+        "spring.datasource.url=jdbc:h2:mem:sql-budget;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;" +
+                "INIT=create sequence if not exists task_changes_seq",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "management.health.mail.enabled=false",
+        "notifications.outbox.poll-interval-ms=3600000",
+        "sql.budget.mode=REJECT",
+        "tasks.changes.settle-ms=0",
+        "tasks.events.snapshot-after=3",
+        "tasks.events.snapshot-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+class TaskSqlStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskHistoryService taskHistoryService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private JavaMailSender mailSender;
+
+    private User creator;
+    private List<User> approvers;
+
+    @BeforeEach
+    void setUp() {
+        creator = createUser("creator");
+        approvers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            approvers.add(createUser("approver" + i));
+        }
+    }
+
+    @Test
+    void getTask_IssuesFixedNumberOfStatements() throws Exception {
+        Task task = createTask();
+        for (int i = 0; i < 5; i++) {
+            CommentDTO comment = new CommentDTO();
+            comment.setContent("comment " + i);
+            taskService.addComment(task.getId(), approvers.get(i % approvers.size()).getId(), comment);
+        }
+
+        SqlStatementCounts.assertAtMost(4, 2, () ->
+                mockMvc.perform(get("/api/tasks/{taskId}", task.getId())).andExpect(status().isOk()));
+    }
+
+    @Test
+    void listTasks_DoesNotGrowWithPageSize() throws Exception {
+        for (int i = 0; i < 25; i++) {
+            createTask();
+        }
+
+        SqlStatementCounts.assertAtMost(3, 2, () ->
+                mockMvc.perform(get("/api/tasks").param("size", "2")).andExpect(status().isOk()));
+        SqlStatementCounts.assertAtMost(3, 2, () ->
+                mockMvc.perform(get("/api/tasks").param("size", "20")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void listTasks_CreatedRangePagesInCreationOrder() throws Exception {
+        LocalDateTime from = LocalDateTime.now().minusMinutes(1);
+        List<Long> created = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            created.add(createTask().getId());
+        }
+
+        String body = mockMvc.perform(get("/api/tasks").param("createdFrom", from.toString())
+                        .param("creatorId", creator.getId().toString()).param("size", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[*].id").value(contains(created.get(4).intValue(),
+                        created.get(3).intValue(), created.get(2).intValue())))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(body).get("nextCursor").asText();
+
+        SqlStatementCounts.assertAtMost(3, 2, () ->
+                mockMvc.perform(get("/api/tasks").param("createdFrom", from.toString())
+                                .param("creatorId", creator.getId().toString())
+                                .param("cursor", cursor).param("size", "3"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.tasks[*].id").value(contains(created.get(1).intValue(),
+                                created.get(0).intValue())))
+                        .andExpect(jsonPath("$.hasMore").value(false)));
+    }
+
+    @Test
+    void approveTask_IssuesFixedNumberOfStatements() throws Exception {
+        Task task = createTask();
+
+        SqlStatementCounts.assertAtMost(12, 2, () ->
+                mockMvc.perform(post("/api/tasks/{taskId}/approve", task.getId())
+                        .param("approverId", approvers.get(0).getId().toString())).andExpect(status().isOk()));
+    }
+
+    @Test
+    void pendingApprovals_FollowTaskWrites() throws Exception {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tasks.add(createTask());
+        }
+        Long approverId = approvers.get(0).getId();
+        taskService.approveTask(tasks.get(4).getId(), approverId);
+
+        SqlStatementCounts.assertAtMost(3, 2, () ->
+                mockMvc.perform(get("/api/users/{userId}/pending-approvals", approverId).param("size", "3"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.tasks[*].id").value(contains(
+                                tasks.get(3).getId().intValue(), tasks.get(2).getId().intValue(),
+                                tasks.get(1).getId().intValue())))
+                        .andExpect(jsonPath("$.hasMore").value(true)));
+        SqlStatementCounts.assertAtMost(1, 2, () ->
+                mockMvc.perform(get("/api/users/{userId}/pending-approvals/count", approverId))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.pending").value(4)));
+    }
+
+    @Test
+    void changes_EmptySyncIsOneQuery() throws Exception {
+        Task task = createTask();
+        CommentDTO comment = new CommentDTO();
+        comment.setContent("synced");
+        taskService.addComment(task.getId(), approvers.get(0).getId(), comment);
+
+        String body = mockMvc.perform(get("/api/tasks/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[*].id").value(hasItem(task.getId().intValue())))
+                .andExpect(jsonPath("$.comments[*].content").value(hasItem("synced")))
+                .andReturn().getResponse().getContentAsString();
+        long token = objectMapper.readTree(body).get("nextToken").asLong();
+
+        SqlStatementCounts.assertAtMost(1, 2, () ->
+                mockMvc.perform(get("/api/tasks/changes").param("since", String.valueOf(token)))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.tasks", hasSize(0)))
+                        .andExpect(jsonPath("$.nextToken").value(token)));
+
+        taskService.approveTask(task.getId(), approvers.get(1).getId());
+        mockMvc.perform(get("/api/tasks/changes").param("since", String.valueOf(token)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[*].id").value(contains(task.getId().intValue())))
+                .andExpect(jsonPath("$.comments", hasSize(0)));
+    }
+
+    @Test
+    void history_RebuildsStateFromSnapshotAndLaterEvents() throws Exception {
+        Task task = createTask();
+        taskService.approveTask(task.getId(), approvers.get(0).getId());
+        taskHistoryService.compactSnapshots();
+        taskService.approveTask(task.getId(), approvers.get(1).getId());
+        taskService.approveTask(task.getId(), approvers.get(2).getId());
+
+        SqlStatementCounts.assertAtMost(2, 2, () ->
+                mockMvc.perform(get("/api/tasks/{taskId}/state", task.getId()))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.status").value("APPROVED"))
+                        .andExpect(jsonPath("$.approverIds", hasSize(3)))
+                        .andExpect(jsonPath("$.approvedBy", hasSize(3)))
+                        .andExpect(jsonPath("$.eventCount").value(8)));
+        SqlStatementCounts.assertAtMost(1, 2, () ->
+                mockMvc.perform(get("/api/tasks/{taskId}/events", task.getId()))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.events[0].type").value("CREATED"))
+                        .andExpect(jsonPath("$.events[7].type").value("STATUS_CHANGED")));
+    }
+
+    @Test
+    void history_NumbersEventsInCommitOrderAcrossInstances() throws Exception {
+        Task task = createTask();
+        // another instance records a comment event; it takes its id from the sequence after ours did
+        Long otherId = jdbcTemplate.queryForObject("select nextval('task_events_seq')", Long.class);
+        jdbcTemplate.update("insert into task_events (id, task_id, type, actor_id, occurred_at) " +
+                "values (?, ?, 'COMMENTED', ?, localtimestamp)", otherId, task.getId(), approvers.get(1).getId());
+        taskHistoryService.compactSnapshots();
+
+        taskService.approveTask(task.getId(), approvers.get(0).getId());
+
+        mockMvc.perform(get("/api/tasks/{taskId}/state", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.commentCount").value(1))
+                .andExpect(jsonPath("$.approvedBy", contains(approvers.get(0).getId().intValue())));
+        mockMvc.perform(get("/api/tasks/{taskId}/events", task.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events[4].id").value(otherId.intValue()))
+                .andExpect(jsonPath("$.events[5].type").value("APPROVED"));
+    }
+
+    @Test
+    void outbox_StaleOutcomeLeavesNewerClaimAlone() {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType("TASK_CREATED");
+        event.setRecipient("late@example.com");
+        event.setStatus(OutboxStatus.PENDING);
+        event.setAttempts(2);
+        event.setCreatedAt(LocalDateTime.now());
+        event.setNextAttemptAt(LocalDateTime.now());
+        Long id = outboxEventRepository.save(event).getId();
+        LocalDateTime later = LocalDateTime.now().plusMinutes(5);
+
+        // the first claim's lease ran out and a second dispatcher claimed the event again
+        Integer staleRetry = transactionTemplate.execute(status -> outboxEventRepository.recordOutcome(
+                id, 1, OutboxStatus.PENDING, later, null, "SMTP down"));
+        Integer sent = transactionTemplate.execute(status -> outboxEventRepository.recordOutcome(
+                id, 2, OutboxStatus.SENT, later, later, null));
+        Integer retryAfterSent = transactionTemplate.execute(status -> outboxEventRepository.recordOutcome(
+                id, 2, OutboxStatus.PENDING, later, null, "SMTP down"));
+
+        assertThat(staleRetry).isZero();
+        assertThat(sent).isOne();
+        assertThat(retryAfterSent).isZero();
+        OutboxEvent stored = outboxEventRepository.findById(id).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(stored.getAttempts()).isEqualTo(2);
+        assertThat(stored.getLastError()).isNull();
+    }
+
+    @Test
+    void secondLevelCache_KeepsHittingAcrossApprovals() throws Exception {
+        List<Task> approving = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            approving.add(createTask());
+        }
+        Long watchedId = createTask().getId();
+        User latecomer = createUser("latecomer");
+        List<Long> approverIds = approvers.stream().map(User::getId).toList();
+        transactionTemplate.executeWithoutResult(tx -> readApprovers(watchedId, approverIds));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        CacheRegionStatistics users = statistics.getDomainDataRegionStatistics("users");
+        CacheRegionStatistics queries = statistics.getQueryRegionStatistics("default-query-results-region");
+        long userHits = users.getHitCount();
+        long userMisses = users.getMissCount();
+        long queryHits = queries.getHitCount();
+        long queryMisses = queries.getMissCount();
+        for (Task task : approving) {
+            // each approval bulk-updates the task's counters; the cached users and approver checks survive it
+            taskService.approveTask(task.getId(), approverIds.get(0));
+            SqlStatementCounts.assertAtMost(0, 2, () ->
+                    transactionTemplate.executeWithoutResult(tx -> readApprovers(watchedId, approverIds)));
+        }
+        assertThat(users.getHitCount() - userHits).isEqualTo(5L * approverIds.size());
+        assertThat(users.getMissCount()).isEqualTo(userMisses);
+        assertThat(queries.getHitCount() - queryHits).isGreaterThanOrEqualTo(5L * approverIds.size());
+        assertThat(queries.getMissCount() - queryMisses).isEqualTo(5);
+        assertThat(meterRegistry.get("hibernate.cache.hit.ratio").tag("region", "users").gauge().value())
+                .isGreaterThan(0.5);
+
+        // changing a task's approvers still invalidates the cached check
+        assertThatThrownBy(() -> taskService.approveTask(watchedId, latecomer.getId()))
+                .isInstanceOf(UnauthorizedOperationException.class);
+        taskService.updateTask(watchedId, new TaskUpdateDTO("Renamed", null, List.of(latecomer.getId())));
+        assertThat(taskService.approveTask(watchedId, latecomer.getId()).getApprovalCount()).isEqualTo(1);
+    }
+
+    private void readApprovers(Long taskId, List<Long> approverIds) {
+        for (Long approverId : approverIds) {
+            assertThat(taskRepository.isApprover(taskId, approverId)).isTrue();
+            assertThat(userRepository.findById(approverId)).isPresent();
+        }
+    }
+
+    private Task createTask() {
+        TaskDTO dto = new TaskDTO();
+        dto.setTitle("Task");
+        dto.setApproverIds(approvers.stream().map(User::getId).toList());
+        return taskService.createTask(dto, creator.getId());
+    }
+
+    private User createUser(String name) {
+        UserDTO dto = new UserDTO();
+        dto.setName(name);
+        dto.setEmail(name + "-" + UUID.randomUUID() + "@example.com");
+        dto.setPassword("secret");
+        return userService.createUser(dto);
+    }
+}
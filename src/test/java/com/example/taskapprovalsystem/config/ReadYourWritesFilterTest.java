@@ -0,0 +1,79 @@
+package com.example.taskapprovalsystem.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadYourWritesFilterTest {
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(5);
+
+    @Test
+    void write_SetsPinCookieAndUsesPrimary() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        List<Boolean> routedToPrimary = run(new MockHttpServletRequest("POST", "/api/tasks"), response);
+
+        assertThat(routedToPrimary).containsExactly(true);
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getMaxAge()).isEqualTo(5);
+    }
+
+    @Test
+    void readWithPinCookie_UsesPrimary() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks/1");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(run(request, response)).containsExactly(true);
+        assertThat(response.getCookie(ReadYourWritesFilter.COOKIE_NAME)).isNull();
+    }
+
+    @Test
+    void readWithoutPinCookie_MayUseReplica() throws Exception {
+        assertThat(run(new MockHttpServletRequest("GET", "/api/tasks/1"), new MockHttpServletResponse()))
+                .containsExactly(false);
+    }
+
+    /**
+     * Runs the filter and reports whether a read-only transaction inside the chain went to the primary.
+     */
+    private List<Boolean> run(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        DataSource primary = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+        Connection primaryConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        Connection replicaConnection = mock(Connection.class);
+        when(replicaConnection.isValid(1)).thenReturn(true);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(replica), 1);
+        routing.checkReplicas();
+
+        List<Boolean> routedToPrimary = new ArrayList<>();
+        FilterChain chain = (req, res) -> {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            try (Connection connection = routing.getConnection()) {
+                routedToPrimary.add(connection == primaryConnection);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            }
+        };
+        filter.doFilter(request, response, chain);
+        return routedToPrimary;
+    }
+}
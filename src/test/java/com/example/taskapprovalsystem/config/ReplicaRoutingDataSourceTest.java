@@ -0,0 +1,154 @@
+package com.example.taskapprovalsystem.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+    private final DataSource primary = database("primary");
+    private final DataSource replica = database("replica");
+
+    @BeforeEach
+    void setUp() {
+        ReplicaRoutingDataSource.clearPin();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingDataSource.clearPin();
+    }
+
+    @Test
+    void readOnlyTransaction_ReadsFromReplica() {
+        ReplicaRoutingDataSource routing = routing(List.of(replica));
+
+        assertThat(node(routing, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransaction_UsesPrimary() {
+        ReplicaRoutingDataSource routing = routing(List.of(replica));
+
+        assertThat(node(routing, false)).isEqualTo("primary");
+    }
+
+    @Test
+    void pinnedThread_ReadsFromPrimary() {
+        ReplicaRoutingDataSource routing = routing(List.of(replica));
+
+        ReplicaRoutingDataSource.pinToPrimary();
+
+        assertThat(node(routing, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void failingReplica_FallsBackToPrimaryUntilHealthCheckPasses() throws SQLException {
+        DataSource flaky = mock(DataSource.class);
+        when(flaky.getConnection()).thenThrow(new SQLException("Connection refused"))
+                .thenAnswer(invocation -> replica.getConnection());
+        ReplicaRoutingDataSource routing = routing(List.of(flaky));
+
+        assertThat(node(routing, true)).isEqualTo("primary");
+        assertThat(routing.healthyReplicas()).isZero();
+        assertThat(node(routing, true)).isEqualTo("primary");
+
+        routing.checkReplicas();
+
+        assertThat(routing.healthyReplicas()).isEqualTo(1);
+        assertThat(node(routing, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void replicaPoolThrowing_FallsBackToPrimaryAndLeavesRotation() throws SQLException {
+        DataSource exhausted = mock(DataSource.class);
+        when(exhausted.getConnection()).thenAnswer(invocation -> replica.getConnection())
+                .thenThrow(new SQLTransientConnectionException("Connection is not available, request timed out"));
+        ReplicaRoutingDataSource routing = routing(List.of(exhausted));
+        assertThat(routing.healthyReplicas()).isEqualTo(1);
+
+        assertThat(node(routing, true)).isEqualTo("primary");
+        assertThat(routing.healthyReplicas()).isZero();
+        assertThat(node(routing, true)).isEqualTo("primary");
+
+        // one connection for the health check, one failed read, none after that
+        verify(exhausted, times(2)).getConnection();
+    }
+
+    @Test
+    void replicaPoolThrowingUnchecked_FallsBackToPrimary() throws SQLException {
+        DataSource closed = mock(DataSource.class);
+        when(closed.getConnection()).thenAnswer(invocation -> replica.getConnection())
+                .thenThrow(new IllegalStateException("Pool has been closed"));
+        ReplicaRoutingDataSource routing = routing(List.of(closed));
+
+        assertThat(node(routing, true)).isEqualTo("primary");
+        assertThat(routing.healthyReplicas()).isZero();
+    }
+
+    @Test
+    void explicitCredentials_AreRoutedLikePooledConnections() throws SQLException {
+        DataSource replicaWithCredentials = mock(DataSource.class);
+        when(replicaWithCredentials.getConnection()).thenAnswer(invocation -> replica.getConnection());
+        when(replicaWithCredentials.getConnection("reader", "secret")).thenAnswer(invocation -> replica.getConnection());
+        ReplicaRoutingDataSource routing = routing(List.of(replicaWithCredentials));
+
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(primary));
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            try {
+                routing.getConnection("reader", "secret").close();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        verify(replicaWithCredentials).getConnection("reader", "secret");
+    }
+
+    @Test
+    void readOnlyTransactions_AlternateBetweenReplicas() {
+        ReplicaRoutingDataSource routing = routing(List.of(replica, database("replica-2")));
+
+        assertThat(List.of(node(routing, true), node(routing, true))).containsExactlyInAnyOrder("replica", "replica-2");
+    }
+
+    private ReplicaRoutingDataSource routing(List<DataSource> replicas) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, 1);
+        routing.checkReplicas();
+        return routing;
+    }
+
+    private String node(ReplicaRoutingDataSource routing, boolean readOnly) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("select name from node", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table node (name varchar(20))");
+        jdbc.update("insert into node values (?)", name);
+        return dataSource;
+    }
+}
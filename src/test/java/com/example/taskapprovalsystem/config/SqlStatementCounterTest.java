@@ -0,0 +1,78 @@
+package com.example.taskapprovalsystem.config;
+
+import com.example.taskapprovalsystem.exception.SqlBudgetExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SqlStatementCounterTest {
+    private static final String SELECT_APPROVALS = "select a.id from approvals a where a.task_id=?";
+
+    private final SqlStatementCounter inspector = new SqlStatementCounter();
+
+    @AfterEach
+    void tearDown() {
+        while (SqlStatementCounter.current() > 0) {
+            SqlStatementCounter.stop();
+        }
+    }
+
+    @Test
+    void inspect_IgnoresThreadsThatAreNotCounting() {
+        assertThat(inspector.inspect(SELECT_APPROVALS)).isEqualTo(SELECT_APPROVALS);
+        assertThat(SqlStatementCounter.current()).isZero();
+    }
+
+    @Test
+    void stop_ReturnsStatementsAndMostRepeatedSelect() {
+        SqlStatementCounter.start();
+        inspector.inspect("insert into tasks (id) values (?)");
+        for (int i = 0; i < 3; i++) {
+            inspector.inspect(SELECT_APPROVALS);
+        }
+
+        SqlStatementCounter.Tally tally = SqlStatementCounter.stop();
+
+        assertThat(tally.getStatements()).isEqualTo(4);
+        assertThat(tally.getMaxSelectRepeats()).isEqualTo(3);
+        assertThat(tally.getMostRepeatedSelect()).isEqualTo(SELECT_APPROVALS);
+        assertThat(tally.isOverBudget()).isFalse();
+    }
+
+    @Test
+    void stop_AddsNestedScopeToOuterScope() {
+        SqlStatementCounter.start();
+        inspector.inspect(SELECT_APPROVALS);
+        SqlStatementCounter.start();
+        inspector.inspect(SELECT_APPROVALS);
+
+        assertThat(SqlStatementCounter.stop().getStatements()).isEqualTo(1);
+        SqlStatementCounter.Tally outer = SqlStatementCounter.stop();
+        assertThat(outer.getStatements()).isEqualTo(2);
+        assertThat(outer.getMaxSelectRepeats()).isEqualTo(2);
+    }
+
+    @Test
+    void inspect_RejectsStatementOverEnforcedBudget() {
+        SqlStatementCounter.start();
+        SqlStatementCounter.limitTo(1, true);
+        inspector.inspect(SELECT_APPROVALS);
+
+        assertThatThrownBy(() -> inspector.inspect(SELECT_APPROVALS))
+                .isInstanceOf(SqlBudgetExceededException.class)
+                .hasMessageContaining("budget of 1");
+        assertThat(SqlStatementCounter.stop().isOverBudget()).isTrue();
+    }
+
+    @Test
+    void inspect_OnlyRecordsOverUnenforcedBudget() {
+        SqlStatementCounter.start();
+        SqlStatementCounter.limitTo(1, false);
+        inspector.inspect(SELECT_APPROVALS);
+        inspector.inspect(SELECT_APPROVALS);
+
+        assertThat(SqlStatementCounter.stop().isOverBudget()).isTrue();
+    }
+}
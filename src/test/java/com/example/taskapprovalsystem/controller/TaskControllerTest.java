@@ -1,12 +1,28 @@
 package com.example.taskapprovalsystem.controller;
 
+import com.example.taskapprovalsystem.dto.ApprovalOutcome;
+import com.example.taskapprovalsystem.dto.CommentCursor;
 import com.example.taskapprovalsystem.dto.CommentDTO;
+import com.example.taskapprovalsystem.dto.CommentResponse;
+import com.example.taskapprovalsystem.dto.TaskApprovalResult;
+import com.example.taskapprovalsystem.dto.TaskChangesResponse;
 import com.example.taskapprovalsystem.dto.TaskDTO;
+import com.example.taskapprovalsystem.dto.TaskFilter;
+import com.example.taskapprovalsystem.dto.TaskPageResponse;
+import com.example.taskapprovalsystem.dto.TaskResponse;
+import com.example.taskapprovalsystem.dto.TaskSearchResponse;
+import com.example.taskapprovalsystem.dto.TaskUpdateDTO;
+import com.example.taskapprovalsystem.dto.UserSummaryDTO;
 import com.example.taskapprovalsystem.entity.Comment;
 import com.example.taskapprovalsystem.entity.Task;
 import com.example.taskapprovalsystem.entity.TaskStatus;
 import com.example.taskapprovalsystem.entity.User;
+import com.example.taskapprovalsystem.exception.PreconditionFailedException;
+import com.example.taskapprovalsystem.service.TaskChangeBroadcaster;
+import com.example.taskapprovalsystem.service.TaskQueryService;
 import com.example.taskapprovalsystem.service.TaskService;
+import com.example.taskapprovalsystem.service.TaskSyncService;
+import com.example.taskapprovalsystem.service.UserSummaryCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,17 +30,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -37,6 +64,18 @@ class TaskControllerTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private TaskQueryService taskQueryService;
+
+    @Mock
+    private UserSummaryCache userSummaryCache;
+
+    @Mock
+    private TaskChangeBroadcaster taskChangeBroadcaster;
+
+    @Mock
+    private TaskSyncService taskSyncService;
+
     @InjectMocks
     private TaskController taskController;
 
@@ -82,6 +121,7 @@ class TaskControllerTest {
         taskDTO.setApproverIds(Arrays.asList(2L, 3L));
 
         when(taskService.createTask(any(TaskDTO.class), eq(1L))).thenReturn(mockTask);
+        when(userSummaryCache.find(1L)).thenReturn(Optional.of(new UserSummaryDTO(mockUser)));
 
         mockMvc.perform(post("/api/tasks")
                         .param("creatorId", "1")
@@ -89,12 +129,34 @@ class TaskControllerTest {
                         .content(objectMapper.writeValueAsString(taskDTO)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.title").value("Test Task"))
-                .andExpect(jsonPath("$.description").value("Test Description"));
+                .andExpect(jsonPath("$.description").value("Test Description"))
+                .andExpect(jsonPath("$.creator.email").value("test@example.com"));
+    }
+
+    @Test
+    void createTasks_Success() throws Exception {
+        TaskDTO taskDTO = new TaskDTO();
+        taskDTO.setTitle("Test Task");
+        taskDTO.setApproverIds(Arrays.asList(2L, 3L));
+        Task secondTask = new Task();
+        secondTask.setId(2L);
+
+        when(taskService.createTasks(anyList(), eq(1L))).thenReturn(Arrays.asList(mockTask, secondTask));
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .param("creatorId", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(taskDTO, taskDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.taskIds[1]").value(2));
     }
 
     @Test
     void approveTask_Success() throws Exception {
-        when(taskService.approveTask(1L, 1L)).thenReturn(mockTask);
+        when(taskService.approveTask(eq(1L), eq(1L), any())).thenAnswer(invocation ->
+                invocation.<Function<Task, ?>>getArgument(2).apply(mockTask));
+        when(taskQueryService.getTask(1L)).thenReturn(new TaskResponse(mockTask));
 
         mockMvc.perform(post("/api/tasks/1/approve")
                         .param("approverId", "1"))
@@ -103,40 +165,167 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.title").value("Test Task"));
     }
 
+    @Test
+    void approveTasks_ReturnsPerTaskResults() throws Exception {
+        when(taskService.approveTasks(Arrays.asList(1L, 2L), 3L)).thenReturn(Arrays.asList(
+                new TaskApprovalResult(1L, ApprovalOutcome.APPROVED),
+                new TaskApprovalResult(2L, ApprovalOutcome.NOT_AN_APPROVER)));
+
+        mockMvc.perform(post("/api/tasks/approve-batch")
+                        .param("approverId", "3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Arrays.asList(1L, 2L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.approved").value(1))
+                .andExpect(jsonPath("$.results[1].outcome").value("NOT_AN_APPROVER"));
+    }
+
     @Test
     void addComment_Success() throws Exception {
         CommentDTO commentDTO = new CommentDTO();
         commentDTO.setContent("Test Comment");
 
         when(taskService.addComment(eq(1L), eq(1L), any(CommentDTO.class))).thenReturn(mockComment);
+        when(userSummaryCache.find(1L)).thenReturn(Optional.of(new UserSummaryDTO(mockUser)));
 
         mockMvc.perform(post("/api/tasks/1/comments")
                         .param("userId", "1")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(commentDTO)))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.content").value("Test Comment"));
+                .andExpect(jsonPath("$.content").value("Test Comment"))
+                .andExpect(jsonPath("$.userName").value("Test User"));
+    }
+
+    @Test
+    void listComments_ReturnsOpaqueNextCursor() throws Exception {
+        CommentResponse comment = new CommentResponse(mockComment);
+        Slice<CommentResponse> page = new SliceImpl<>(Arrays.asList(comment), PageRequest.of(0, 1), true);
+        when(taskQueryService.listComments(1L, null, 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/tasks/1/comments")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.comments[0].content").value("Test Comment"))
+                .andExpect(jsonPath("$.nextCursor").value(CommentCursor.of(comment).encode()))
+                .andExpect(jsonPath("$.hasMore").value(true));
     }
 
     @Test
     void getTask_Success() throws Exception {
-        when(taskService.getTask(1L)).thenReturn(mockTask);
+        mockTask.setVersion(3);
+        when(taskQueryService.getVersion(1L)).thenReturn(3L);
+        when(taskQueryService.getTask(1L, null)).thenReturn(new TaskResponse(mockTask));
 
         mockMvc.perform(get("/api/tasks/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
                 .andExpect(jsonPath("$.id").value(1))
                 .andExpect(jsonPath("$.title").value("Test Task"));
     }
 
     @Test
-    void getAllTasks_Success() throws Exception {
-        List<Task> tasks = Arrays.asList(mockTask);
-        when(taskService.getAllTasks()).thenReturn(tasks);
+    void getTask_NotModifiedSkipsViewQueries() throws Exception {
+        when(taskQueryService.getVersion(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/tasks/1").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""));
+        verify(taskQueryService, never()).getTask(any(), any());
+    }
 
-        mockMvc.perform(get("/api/tasks"))
+    @Test
+    void updateTask_PassesIfMatchVersion() throws Exception {
+        mockTask.setVersion(6);
+        when(taskService.updateTask(eq(1L), any(TaskUpdateDTO.class), eq(Set.of(5L)), any())).thenAnswer(invocation ->
+                invocation.<Function<Task, ?>>getArgument(3).apply(mockTask));
+        when(taskQueryService.getTask(1L)).thenReturn(new TaskResponse(mockTask));
+
+        mockMvc.perform(patch("/api/tasks/1")
+                        .header("If-Match", "\"5\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskUpdateDTO("Renamed", null, null))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"6\""));
+    }
+
+    @Test
+    void updateTask_MatchesAnyStrongTagInIfMatchList() throws Exception {
+        mockTask.setVersion(6);
+        when(taskService.updateTask(eq(1L), any(TaskUpdateDTO.class), eq(Set.of(4L, 5L)), any())).thenAnswer(invocation ->
+                invocation.<Function<Task, ?>>getArgument(3).apply(mockTask));
+        when(taskQueryService.getTask(1L)).thenReturn(new TaskResponse(mockTask));
+
+        mockMvc.perform(patch("/api/tasks/1")
+                        .header("If-Match", "\"4\", W/\"6\", \"5\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskUpdateDTO("Renamed", null, null))))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"6\""));
+    }
+
+    @Test
+    void updateTask_WeakIfMatchTagsMatchNothing() throws Exception {
+        when(taskService.updateTask(eq(1L), any(TaskUpdateDTO.class), eq(Set.of()), any()))
+                .thenThrow(new PreconditionFailedException("Task has been modified since it was last read"));
+
+        mockMvc.perform(patch("/api/tasks/1")
+                        .header("If-Match", "W/\"6\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskUpdateDTO("Renamed", null, null))))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void listTasks_Success() throws Exception {
+        TaskPageResponse page = new TaskPageResponse(Arrays.asList(new TaskResponse(mockTask)), "1", true);
+        when(taskQueryService.listTasks(any(TaskFilter.class), isNull(), eq(1))).thenReturn(page);
+
+        mockMvc.perform(get("/api/tasks")
+                        .param("status", "PENDING")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[0].id").value(1))
+                .andExpect(jsonPath("$.tasks[0].title").value("Test Task"))
+                .andExpect(jsonPath("$.nextCursor").value("1"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void searchTasks_ReturnsRankedPage() throws Exception {
+        TaskSearchResponse response = new TaskSearchResponse("test", 3, 0, 2, true,
+                Arrays.asList(new TaskResponse(mockTask)));
+        when(taskQueryService.searchTasks("test", null, 2)).thenReturn(response);
+
+        mockMvc.perform(get("/api/tasks/search")
+                        .param("q", "test")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks[0].id").value(1))
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void getChanges_ReturnsNextToken() throws Exception {
+        when(taskSyncService.listChanges(12L, null)).thenReturn(
+                new TaskChangesResponse(Arrays.asList(new TaskResponse(mockTask)), List.of(), 17L, false));
+
+        mockMvc.perform(get("/api/tasks/changes").param("since", "12"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(1))
-                .andExpect(jsonPath("$[0].title").value("Test Task"));
+                .andExpect(jsonPath("$.tasks[0].id").value(1))
+                .andExpect(jsonPath("$.nextToken").value(17))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void streamTaskChanges_SubscribesWithFilter() throws Exception {
+        when(taskChangeBroadcaster.subscribe(Set.of(1L, 2L), null)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/tasks/stream")
+                        .param("taskIds", "1", "2")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package com.example.taskapprovalsystem.controller;
+
+import com.example.taskapprovalsystem.dto.TaskEventResponse;
+import com.example.taskapprovalsystem.dto.TaskState;
+import com.example.taskapprovalsystem.entity.TaskEventType;
+import com.example.taskapprovalsystem.entity.TaskStatus;
+import com.example.taskapprovalsystem.exception.GlobalExceptionHandler;
+import com.example.taskapprovalsystem.exception.ResourceNotFoundException;
+import com.example.taskapprovalsystem.service.TaskHistoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class TaskHistoryControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private TaskHistoryService taskHistoryService;
+
+    @InjectMocks
+    private TaskHistoryController taskHistoryController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(taskHistoryController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void getEvents_ReturnsPageWithCursor() throws Exception {
+        when(taskHistoryService.getTimeline(1L, 3L, 2)).thenReturn(new SliceImpl<>(Arrays.asList(
+                new TaskEventResponse(4L, TaskEventType.APPROVED, 2L, null, null, null, null, null),
+                new TaskEventResponse(6L, TaskEventType.COMMENTED, 2L, 9L, null, null, null, null)),
+                PageRequest.of(0, 2), true));
+
+        mockMvc.perform(get("/api/tasks/1/events").param("after", "3").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events", hasSize(2)))
+                .andExpect(jsonPath("$.events[1].type").value("COMMENTED"))
+                .andExpect(jsonPath("$.nextCursor").value(6))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void getState_ReturnsRebuiltTask() throws Exception {
+        TaskState state = new TaskState();
+        state.setTaskId(1L);
+        state.setStatus(TaskStatus.APPROVED);
+        state.setLastEventId(12L);
+        when(taskHistoryService.getState(1L)).thenReturn(state);
+
+        mockMvc.perform(get("/api/tasks/1/state"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED"))
+                .andExpect(jsonPath("$.lastEventId").value(12));
+    }
+
+    @Test
+    void getState_TaskWithoutHistory() throws Exception {
+        when(taskHistoryService.getState(99L)).thenThrow(new ResourceNotFoundException("Task history not found"));
+
+        mockMvc.perform(get("/api/tasks/99/state"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Task history not found"));
+    }
+}
@@ -1,8 +1,16 @@
 package com.example.taskapprovalsystem.controller;
 
+import com.example.taskapprovalsystem.dto.TaskResponse;
 import com.example.taskapprovalsystem.dto.UserDTO;
+import com.example.taskapprovalsystem.dto.UserImportError;
+import com.example.taskapprovalsystem.dto.UserImportFormat;
+import com.example.taskapprovalsystem.dto.UserImportResponse;
 import com.example.taskapprovalsystem.entity.User;
+import com.example.taskapprovalsystem.exception.GlobalExceptionHandler;
 import com.example.taskapprovalsystem.exception.ResourceNotFoundException;
+import com.example.taskapprovalsystem.exception.ServiceUnavailableException;
+import com.example.taskapprovalsystem.service.TaskQueryService;
+import com.example.taskapprovalsystem.service.UserImportService;
 import com.example.taskapprovalsystem.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,6 +19,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -20,10 +30,12 @@ import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -35,6 +47,12 @@ class UserControllerTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UserImportService userImportService;
+
+    @Mock
+    private TaskQueryService taskQueryService;
+
     @InjectMocks
     private UserController userController;
 
@@ -122,4 +140,59 @@ class UserControllerTest {
 
         verify(userService).getAllUsers();
     }
-}
\ No newline at end of file
+
+    @Test
+    void importUsers_StreamsNdjsonBody() throws Exception {
+        UserImportResponse response = new UserImportResponse(1, 1,
+                Arrays.asList(new UserImportError(2, "taken@example.com", "Email already exists")));
+        when(userImportService.importUsers(any(), eq(UserImportFormat.NDJSON))).thenReturn(response);
+
+        mockMvc.perform(post("/api/users/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"name\":\"A\",\"email\":\"a@example.com\",\"password\":\"p\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+    }
+
+    @Test
+    void createUser_HashingSaturatedReturns503WithRetryAfter() throws Exception {
+        MockMvc mockMvcWithAdvice = MockMvcBuilders.standaloneSetup(userController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(userService.createUser(any(UserDTO.class)))
+                .thenThrow(new ServiceUnavailableException("Too many signups in progress, please retry shortly", 2));
+
+        mockMvcWithAdvice.perform(post("/api/users/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testUserDTO)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
+    @Test
+    void getPendingApprovals_ReturnsNextCursor() throws Exception {
+        TaskResponse newer = new TaskResponse();
+        newer.setId(9L);
+        TaskResponse older = new TaskResponse();
+        older.setId(4L);
+        when(taskQueryService.listPendingApprovals(1L, null, 2))
+                .thenReturn(new SliceImpl<>(List.of(newer, older), PageRequest.of(0, 2), true));
+
+        mockMvc.perform(get("/api/users/1/pending-approvals").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tasks", hasSize(2)))
+                .andExpect(jsonPath("$.nextCursor").value("4"))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void countPendingApprovals_ReturnsCount() throws Exception {
+        when(taskQueryService.countPendingApprovals(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/users/1/pending-approvals/count"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(1))
+                .andExpect(jsonPath("$.pending").value(3));
+    }
+}
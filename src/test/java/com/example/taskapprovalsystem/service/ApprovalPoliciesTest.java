@@ -0,0 +1,95 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.ApprovalPolicyDTO;
+import com.example.taskapprovalsystem.dto.ApprovalPolicyType;
+import com.example.taskapprovalsystem.exception.InvalidRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApprovalPoliciesTest {
+    private static final Set<Long> APPROVERS = Set.of(1L, 2L, 3L, 4L);
+
+    private final ApprovalPolicies policies = new ApprovalPolicies(new SimpleMeterRegistry(), 100);
+
+    @Test
+    void compile_DefaultNeedsThreeApprovalsOrEveryApprover() {
+        assertThat(policies.compile(null, APPROVERS).requiredApprovals()).isEqualTo(3);
+        assertThat(policies.compile(null, Set.of(1L, 2L)).requiredApprovals()).isEqualTo(2);
+    }
+
+    @Test
+    void forTask_LegacyTasksNeedThreeApprovals() {
+        ApprovalPolicy legacy = policies.forTask(null);
+
+        assertThat(legacy.isSatisfied(2, 2, 0)).isFalse();
+        assertThat(legacy.isSatisfied(3, 0, 0)).isTrue();
+    }
+
+    @Test
+    void allOf_FollowsApproverCount() {
+        ApprovalPolicy policy = policies.compile(new ApprovalPolicyDTO(ApprovalPolicyType.ALL, null, null, null, null),
+                APPROVERS);
+
+        assertThat(policy.isSatisfied(4, 4, 0)).isTrue();
+        assertThat(policy.withApproverCount(5).isSatisfied(4, 4, 0)).isFalse();
+    }
+
+    @Test
+    void weighted_SumsApproverWeights() {
+        ApprovalPolicy policy = policies.compile(
+                new ApprovalPolicyDTO(ApprovalPolicyType.WEIGHTED, null, 4, Map.of(1L, 3, 2L, 0), null), APPROVERS);
+
+        assertThat(policy.weightOf(1L)).isEqualTo(3);
+        assertThat(policy.weightOf(2L)).isZero();
+        assertThat(policy.weightOf(3L)).isEqualTo(1);
+        assertThat(policy.isSatisfied(2, 3, 0)).isFalse();
+        assertThat(policy.isSatisfied(2, 4, 0)).isTrue();
+    }
+
+    @Test
+    void requiredApprovers_NeedEveryRequiredApproval() {
+        ApprovalPolicy policy = policies.compile(
+                new ApprovalPolicyDTO(ApprovalPolicyType.REQUIRED_APPROVERS, 3, null, null, List.of(1L, 2L)), APPROVERS);
+
+        assertThat(policy.requiredApproverCount()).isEqualTo(2);
+        assertThat(policy.isRequired(1L)).isTrue();
+        assertThat(policy.isRequired(3L)).isFalse();
+        assertThat(policy.isSatisfied(3, 3, 1)).isFalse();
+        assertThat(policy.isSatisfied(2, 2, 0)).isFalse();
+        assertThat(policy.isSatisfied(3, 3, 0)).isTrue();
+    }
+
+    @Test
+    void forTask_DecodesWhatCompileEncoded() {
+        ApprovalPolicy policy = policies.compile(
+                new ApprovalPolicyDTO(ApprovalPolicyType.WEIGHTED, null, 5, Map.of(4L, 2, 1L, 4), null), APPROVERS);
+
+        String encoded = policy.encode();
+
+        assertThat(encoded).isEqualTo("WEIGHTED;approvers=4;weight=5;weights=1:4,4:2");
+        ApprovalPolicy decoded = policies.forTask(encoded);
+        assertThat(decoded.encode()).isEqualTo(encoded);
+        assertThat(policies.forTask(encoded)).isSameAs(decoded);
+    }
+
+    @Test
+    void compile_RejectsPoliciesThatCannotBeSatisfied() {
+        assertThatThrownBy(() -> policies.compile(
+                new ApprovalPolicyDTO(ApprovalPolicyType.QUORUM, 5, null, null, null), APPROVERS))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> policies.compile(
+                new ApprovalPolicyDTO(ApprovalPolicyType.REQUIRED_APPROVERS, null, null, null, List.of(9L)), APPROVERS))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("[9]");
+        assertThatThrownBy(() -> policies.compile(
+                new ApprovalPolicyDTO(ApprovalPolicyType.WEIGHTED, null, 2, Map.of(1L, -1), null), APPROVERS))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.taskapprovalsystem.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailServiceTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private SimpleMeterRegistry meterRegistry;
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        meterRegistry = new SimpleMeterRegistry();
+        emailService = new EmailService(mailSender, meterRegistry, 3, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        emailService.shutdown();
+    }
+
+    @Test
+    void sendBatch_DeliversAllMessagesOverGroupedSessions() {
+        List<SimpleMailMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            messages.add(createMessage("user" + i + "@example.com"));
+        }
+        messages.add(createMessage("someone@other.org"));
+
+        Map<SimpleMailMessage, Exception> failures = emailService.sendBatch(messages);
+
+        assertThat(failures).isEmpty();
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(6);
+        assertThat(meterRegistry.counter("mail.messages.sent").count()).isEqualTo(6.0);
+        // example.com needs two sessions of at most three messages, other.org one
+        assertThat(meterRegistry.summary("mail.session.messages").count()).isEqualTo(3);
+        assertThat(meterRegistry.timer("mail.send.duration", "outcome", "success").count()).isEqualTo(1);
+    }
+
+    @Test
+    void sendBatch_ReportsEveryMessageWhenServerIsUnreachable() {
+        JavaMailSenderImpl unreachable = new JavaMailSenderImpl();
+        unreachable.setHost("localhost");
+        unreachable.setPort(1);
+        EmailService service = new EmailService(unreachable, meterRegistry, 10, 1, 1);
+        List<SimpleMailMessage> messages = List.of(createMessage("a@example.com"), createMessage("b@example.com"));
+
+        Map<SimpleMailMessage, Exception> failures = service.sendBatch(messages);
+
+        assertThat(failures).hasSize(2);
+        assertThat(meterRegistry.counter("mail.messages.failed").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.timer("mail.send.duration", "outcome", "failure").count()).isEqualTo(1);
+        service.shutdown();
+    }
+
+    @Test
+    void sendBatch_TimesBatchesThatDoNotComplete() {
+        emailService.shutdown();
+        List<SimpleMailMessage> messages = List.of(createMessage("a@example.com"));
+
+        assertThatThrownBy(() -> emailService.sendBatch(messages)).isInstanceOf(RejectedExecutionException.class);
+
+        assertThat(meterRegistry.timer("mail.send.duration", "outcome", "error").count()).isEqualTo(1);
+    }
+
+    private SimpleMailMessage createMessage(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@example.com");
+        message.setTo(to);
+        message.setSubject("Task Approved");
+        message.setText("Task 'Test Task' has been approved by all approvers");
+        return message;
+    }
+}
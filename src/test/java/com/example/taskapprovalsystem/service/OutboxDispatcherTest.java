@@ -0,0 +1,180 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.entity.OutboxEvent;
+import com.example.taskapprovalsystem.entity.OutboxStatus;
+import com.example.taskapprovalsystem.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new OutboxDispatcher(outboxEventRepository, emailService,
+                TransactionOperations.withoutTransaction(), 10, 3, 1000, 60000);
+    }
+
+    @Test
+    void dispatchPending_MarksDeliveredEventsAsSent() {
+        OutboxEvent first = createEvent(1L, "a@example.com", 0);
+        OutboxEvent second = createEvent(2L, "b@example.com", 0);
+        when(outboxEventRepository.findDueForDispatch(eq(OutboxStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Arrays.asList(first, second));
+
+        dispatcher.dispatchPending();
+
+        assertThat(first.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(second.getStatus()).isEqualTo(OutboxStatus.SENT);
+        assertThat(first.getSentAt()).isNotNull();
+        verify(emailService).sendBatch(argThat(messages -> messages.size() == 2));
+    }
+
+    @Test
+    void dispatchPending_SchedulesRetryOnFailure() {
+        OutboxEvent event = createEvent(1L, "a@example.com", 0);
+        LocalDateTime before = LocalDateTime.now();
+        when(outboxEventRepository.findDueForDispatch(eq(OutboxStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(event));
+        failAllDeliveries(new MailSendException("SMTP down"));
+
+        dispatcher.dispatchPending();
+
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(event.getLastError()).isEqualTo("SMTP down");
+        assertThat(event.getNextAttemptAt()).isAfter(before);
+    }
+
+    @Test
+    void dispatchPending_GivesUpAfterMaxAttempts() {
+        OutboxEvent event = createEvent(1L, "a@example.com", 2);
+        when(outboxEventRepository.findDueForDispatch(eq(OutboxStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(event));
+        failAllDeliveries(new MailSendException("Mailbox unavailable"));
+
+        dispatcher.dispatchPending();
+
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        assertThat(event.getAttempts()).isEqualTo(3);
+    }
+
+    @Test
+    void dispatchPending_LeasesEventsBeforeSending() {
+        OutboxEvent event = createEvent(1L, "a@example.com", 0);
+        LocalDateTime claimedUntil = LocalDateTime.now().plusSeconds(59);
+        when(outboxEventRepository.findDueForDispatch(eq(OutboxStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(event));
+        when(emailService.sendBatch(anyList())).thenAnswer(invocation -> {
+            assertThat(event.getAttempts()).isEqualTo(1);
+            assertThat(event.getNextAttemptAt()).isAfter(claimedUntil);
+            return new IdentityHashMap<>();
+        });
+
+        dispatcher.dispatchPending();
+
+        InOrder inOrder = inOrder(outboxEventRepository, emailService);
+        inOrder.verify(outboxEventRepository).saveAll(anyList());
+        inOrder.verify(emailService).sendBatch(anyList());
+        inOrder.verify(outboxEventRepository).recordOutcome(eq(1L), eq(1), eq(OutboxStatus.SENT),
+                any(LocalDateTime.class), any(LocalDateTime.class), isNull());
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.SENT);
+    }
+
+    @Test
+    void dispatchPending_FencesOutcomesOnClaimedAttempt() {
+        OutboxEvent event = createEvent(1L, "a@example.com", 1);
+        when(outboxEventRepository.findDueForDispatch(eq(OutboxStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(event));
+        failAllDeliveries(new MailSendException("SMTP down"));
+
+        dispatcher.dispatchPending();
+
+        verify(outboxEventRepository).recordOutcome(eq(1L), eq(2), eq(OutboxStatus.PENDING),
+                any(LocalDateTime.class), isNull(), eq("SMTP down"));
+        verify(outboxEventRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void dispatchPending_RetriesBatchWhenSendingThrows() {
+        OutboxEvent first = createEvent(1L, "a@example.com", 0);
+        OutboxEvent second = createEvent(2L, "b@example.com", 0);
+        when(outboxEventRepository.findDueForDispatch(eq(OutboxStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Arrays.asList(first, second));
+        when(emailService.sendBatch(anyList())).thenThrow(new RejectedExecutionException("mail executor shut down"));
+
+        dispatcher.dispatchPending();
+
+        for (OutboxEvent event : Arrays.asList(first, second)) {
+            assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+            assertThat(event.getAttempts()).isEqualTo(1);
+            assertThat(event.getLastError()).isEqualTo("mail executor shut down");
+        }
+    }
+
+    @Test
+    void dispatchPending_FailsEventsWhoseDeliveriesNeverCompleted() {
+        OutboxEvent event = createEvent(1L, "a@example.com", 3);
+        when(outboxEventRepository.findDueForDispatch(eq(OutboxStatus.PENDING), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(Collections.singletonList(event));
+
+        dispatcher.dispatchPending();
+
+        assertThat(event.getStatus()).isEqualTo(OutboxStatus.FAILED);
+        verify(emailService, never()).sendBatch(anyList());
+    }
+
+    private void failAllDeliveries(Exception cause) {
+        when(emailService.sendBatch(anyList())).thenAnswer(invocation -> {
+            List<SimpleMailMessage> messages = invocation.getArgument(0);
+            Map<SimpleMailMessage, Exception> failures = new IdentityHashMap<>();
+            messages.forEach(message -> failures.put(message, cause));
+            return failures;
+        });
+    }
+
+    private OutboxEvent createEvent(Long id, String recipient, int attempts) {
+        OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setEventType("TASK_CREATED");
+        event.setRecipient(recipient);
+        event.setSubject("Subject");
+        event.setBody("Body");
+        event.setStatus(OutboxStatus.PENDING);
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(LocalDateTime.now());
+        return event;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final List<String> hashingThreads = new CopyOnWriteArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHasher passwordHasher;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        PasswordEncoder blockingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashingThreads.add(Thread.currentThread().getName());
+                if (rawPassword.toString().startsWith("slow")) {
+                    started.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return "hashed:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHasher = new PasswordHasher(blockingEncoder, meterRegistry, 1, 1, 3);
+        callers = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void hash_RecordsLatency() {
+        assertThat(passwordHasher.hash("secret")).isEqualTo("hashed:secret");
+        assertThat(meterRegistry.get("users.password.hash").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void hash_RejectsWithRetryAfterWhenQueueIsFull() throws Exception {
+        callers.submit(() -> passwordHasher.hash("slow-1"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> passwordHasher.hash("queued"));
+        waitForQueuedTask();
+
+        assertThatThrownBy(() -> passwordHasher.hash("rejected"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .extracting(e -> ((ServiceUnavailableException) e).getRetryAfterSeconds())
+                .isEqualTo(3L);
+        assertThat(meterRegistry.get("users.password.hash.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void hashAll_KeepsOrder() {
+        List<String> hashes = passwordHasher.hashAll(Arrays.asList("a", "b", "c"));
+
+        assertThat(hashes).containsExactly("hashed:a", "hashed:b", "hashed:c");
+    }
+
+    @Test
+    void hashAll_WaitsForRoomInsteadOfHashingOnCallerThread() throws Exception {
+        callers.submit(() -> passwordHasher.hash("slow-1"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> passwordHasher.hash("queued"));
+        waitForQueuedTask();
+
+        Future<List<String>> hashes = callers.submit(() -> passwordHasher.hashAll(Arrays.asList("a", "b")));
+        Thread.sleep(200);
+        assertThat(hashes).isNotDone();
+
+        release.countDown();
+        assertThat(hashes.get(5, TimeUnit.SECONDS)).containsExactly("hashed:a", "hashed:b");
+        assertThat(hashingThreads).containsOnly("password-hashing");
+        assertThat(meterRegistry.get("users.password.hash.rejected").counter().count()).isZero();
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        for (int i = 0; i < 500 && meterRegistry.get("executor.queued").gauge().value() < 1; i++) {
+            Thread.sleep(10);
+        }
+    }
+}
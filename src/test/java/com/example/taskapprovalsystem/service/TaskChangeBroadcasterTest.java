@@ -0,0 +1,138 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.TaskChangeEvent;
+import com.example.taskapprovalsystem.dto.TaskChangeType;
+import com.example.taskapprovalsystem.entity.TaskStatus;
+import com.example.taskapprovalsystem.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskChangeBroadcasterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Runnable> scheduledDrains = new ArrayList<>();
+
+    private TaskChangeBroadcaster broadcaster(int bufferSize, int maxSubscribers) {
+        return new TaskChangeBroadcaster(meterRegistry, scheduledDrains::add, bufferSize, maxSubscribers, 60_000, 5);
+    }
+
+    @Test
+    void publish_OnlyReachesMatchingSubscribers() {
+        TaskChangeBroadcaster broadcaster = broadcaster(8, 10);
+        broadcaster.subscribe(Set.of(1L), null);
+        broadcaster.subscribe(null, 7L);
+        broadcaster.subscribe(null, null);
+
+        broadcaster.publish(event(1L, Set.of(7L)));
+        assertThat(scheduledDrains).hasSize(3);
+        drain();
+
+        broadcaster.publish(event(2L, Set.of(8L)));
+        assertThat(scheduledDrains).hasSize(1);
+    }
+
+    @Test
+    void publish_DropsSubscriberThatFallsBehind() {
+        TaskChangeBroadcaster broadcaster = broadcaster(2, 10);
+        broadcaster.subscribe(null, null);
+
+        for (long taskId = 1; taskId <= 3; taskId++) {
+            broadcaster.publish(event(taskId, Set.of()));
+        }
+
+        assertThat(broadcaster.subscriberCount()).isZero();
+        assertThat(meterRegistry.counter("tasks.stream.dropped").count()).isEqualTo(1.0);
+        // one drain was scheduled for the first event and never ran
+        assertThat(scheduledDrains).hasSize(1);
+    }
+
+    @Test
+    void subscribe_RejectsBeyondLimit() {
+        TaskChangeBroadcaster broadcaster = broadcaster(8, 1);
+        broadcaster.subscribe(null, null);
+
+        assertThatThrownBy(() -> broadcaster.subscribe(Set.of(1L), null))
+                .isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    void subscribe_NeverExceedsLimitUnderConcurrentSubscriptions() throws Exception {
+        TaskChangeBroadcaster broadcaster = broadcaster(8, 5);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        broadcaster.subscribe(null, null);
+                    } catch (ServiceUnavailableException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(broadcaster.subscriberCount()).isEqualTo(5);
+        assertThat(rejected).hasValue(195);
+    }
+
+    @Test
+    void subscribe_ReusesSlotOfDroppedSubscriber() {
+        TaskChangeBroadcaster broadcaster = broadcaster(1, 1);
+        broadcaster.subscribe(null, null);
+        broadcaster.publish(event(1L, Set.of()));
+        broadcaster.publish(event(2L, Set.of()));
+        assertThat(broadcaster.subscriberCount()).isZero();
+
+        broadcaster.subscribe(null, null);
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void hasApproverSubscribers_OnlyWhenSomeStreamFiltersByApprover() {
+        TaskChangeBroadcaster broadcaster = broadcaster(8, 10);
+        assertThat(broadcaster.hasSubscribers()).isFalse();
+
+        broadcaster.subscribe(Set.of(1L), null);
+        assertThat(broadcaster.hasSubscribers()).isTrue();
+        assertThat(broadcaster.hasApproverSubscribers()).isFalse();
+
+        broadcaster.subscribe(null, 7L);
+        assertThat(broadcaster.hasApproverSubscribers()).isTrue();
+    }
+
+    private void drain() {
+        List<Runnable> drains = new ArrayList<>(scheduledDrains);
+        scheduledDrains.clear();
+        drains.forEach(Runnable::run);
+    }
+
+    private static TaskChangeEvent event(Long taskId, Set<Long> approverIds) {
+        return new TaskChangeEvent(TaskChangeType.APPROVAL_RECORDED, taskId, TaskStatus.PENDING, 7L,
+                LocalDateTime.now(), approverIds);
+    }
+}
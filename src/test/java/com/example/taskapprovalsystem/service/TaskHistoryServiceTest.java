@@ -0,0 +1,142 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.TaskState;
+import com.example.taskapprovalsystem.entity.TaskEvent;
+import com.example.taskapprovalsystem.entity.TaskEventType;
+import com.example.taskapprovalsystem.entity.TaskSnapshot;
+import com.example.taskapprovalsystem.entity.TaskStatus;
+import com.example.taskapprovalsystem.exception.ResourceNotFoundException;
+import com.example.taskapprovalsystem.repository.TaskEventRepository;
+import com.example.taskapprovalsystem.repository.TaskRepository;
+import com.example.taskapprovalsystem.repository.TaskSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskHistoryServiceTest {
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    @Mock
+    private TaskEventRepository taskEventRepository;
+
+    @Mock
+    private TaskSnapshotRepository taskSnapshotRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskHistoryService taskHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        taskHistoryService = new TaskHistoryService(taskEventRepository, taskSnapshotRepository, taskRepository,
+                TransactionOperations.withoutTransaction(), 3, 2);
+    }
+
+    @Test
+    void getState_ReplaysFullLogWithoutSnapshot() {
+        when(taskSnapshotRepository.findById(1L)).thenReturn(Optional.empty());
+        when(taskEventRepository.findEventsAfter(1L, 0)).thenReturn(Arrays.asList(
+                new TaskEvent(1L, 1L, TaskEventType.CREATED, 5L, null, TaskStatus.PENDING, "Title", "Text", NOW),
+                event(2L, TaskEventType.APPROVER_ADDED, 5L, 7L),
+                event(3L, TaskEventType.APPROVER_ADDED, 5L, 8L),
+                event(4L, TaskEventType.APPROVED, 7L, null),
+                event(5L, TaskEventType.COMMENTED, 8L, 40L),
+                new TaskEvent(6L, 1L, TaskEventType.DETAILS_UPDATED, null, null, null, "Renamed", null, NOW),
+                new TaskEvent(7L, 1L, TaskEventType.STATUS_CHANGED, 8L, null, TaskStatus.APPROVED, null, null, NOW)));
+
+        TaskState state = taskHistoryService.getState(1L);
+
+        assertThat(state.getTitle()).isEqualTo("Renamed");
+        assertThat(state.getDescription()).isEqualTo("Text");
+        assertThat(state.getCreatorId()).isEqualTo(5L);
+        assertThat(state.getApproverIds()).containsExactly(7L, 8L);
+        assertThat(state.getApprovedBy()).containsExactly(7L);
+        assertThat(state.getCommentCount()).isEqualTo(1);
+        assertThat(state.getStatus()).isEqualTo(TaskStatus.APPROVED);
+        assertThat(state.getEventCount()).isEqualTo(7);
+        assertThat(state.getLastEventId()).isEqualTo(7L);
+    }
+
+    @Test
+    void getState_ReplaysOnlyEventsAfterSnapshot() {
+        TaskState snapshotState = new TaskState();
+        snapshotState.setTaskId(1L);
+        snapshotState.setStatus(TaskStatus.PENDING);
+        snapshotState.setCreatedAt(NOW);
+        snapshotState.getApproverIds().add(7L);
+        snapshotState.setEventCount(40);
+        snapshotState.setLastEventId(90L);
+        when(taskSnapshotRepository.findById(1L)).thenReturn(Optional.of(new TaskSnapshot(1L, 90L, snapshotState, NOW)));
+        when(taskEventRepository.findEventsAfter(1L, 90L)).thenReturn(Collections.singletonList(
+                event(95L, TaskEventType.APPROVED, 7L, null)));
+
+        TaskState state = taskHistoryService.getState(1L);
+
+        assertThat(state.getApprovedBy()).containsExactly(7L);
+        assertThat(state.getEventCount()).isEqualTo(41);
+        assertThat(state.getLastEventId()).isEqualTo(95L);
+    }
+
+    @Test
+    void getState_TaskWithoutHistory() {
+        when(taskSnapshotRepository.findById(99L)).thenReturn(Optional.empty());
+        when(taskEventRepository.findEventsAfter(99L, 0)).thenReturn(Collections.emptyList());
+
+        assertThatThrownBy(() -> taskHistoryService.getState(99L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Task history not found");
+    }
+
+    @Test
+    void getState_HistoryWithoutCreationEvent() {
+        when(taskSnapshotRepository.findById(3L)).thenReturn(Optional.empty());
+        when(taskEventRepository.findEventsAfter(3L, 0)).thenReturn(Arrays.asList(
+                event(12L, TaskEventType.APPROVER_ADDED, 5L, 7L), event(13L, TaskEventType.APPROVED, 7L, null)));
+
+        assertThatThrownBy(() -> taskHistoryService.getState(3L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Task history not found");
+    }
+
+    @Test
+    void compactSnapshots_SnapshotsDueTasksAndSkipsUnchangedLog() {
+        when(taskEventRepository.findLatestId()).thenReturn(10L);
+        when(taskEventRepository.findTaskIdsDueForSnapshot(0L, 3L, Limit.of(2))).thenReturn(List.of(1L));
+        when(taskSnapshotRepository.findById(1L)).thenReturn(Optional.empty());
+        when(taskEventRepository.findEventsAfter(1L, 0)).thenReturn(Arrays.asList(
+                new TaskEvent(4L, 1L, TaskEventType.CREATED, 5L, null, TaskStatus.PENDING, "Title", null, NOW),
+                event(9L, TaskEventType.APPROVER_ADDED, 5L, 7L)));
+
+        taskHistoryService.compactSnapshots();
+        taskHistoryService.compactSnapshots();
+
+        ArgumentCaptor<TaskSnapshot> snapshot = ArgumentCaptor.forClass(TaskSnapshot.class);
+        verify(taskSnapshotRepository).save(snapshot.capture());
+        assertThat(snapshot.getValue().getLastEventId()).isEqualTo(9L);
+        assertThat(snapshot.getValue().getState().getApproverIds()).containsExactly(7L);
+        verify(taskEventRepository, times(1)).findTaskIdsDueForSnapshot(anyLong(), anyLong(), any());
+    }
+
+    private static TaskEvent event(Long id, TaskEventType type, Long actorId, Long subjectId) {
+        return new TaskEvent(id, 1L, type, actorId, subjectId, null, null, null, NOW);
+    }
+}
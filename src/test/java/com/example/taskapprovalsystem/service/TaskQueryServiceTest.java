@@ -0,0 +1,244 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.*;
+import com.example.taskapprovalsystem.entity.TaskStatus;
+import com.example.taskapprovalsystem.exception.InvalidRequestException;
+import com.example.taskapprovalsystem.exception.ResourceNotFoundException;
+import com.example.taskapprovalsystem.repository.PendingApprovalRepository;
+import com.example.taskapprovalsystem.repository.TaskRepository;
+import com.example.taskapprovalsystem.repository.TaskViewRepository;
+import com.example.taskapprovalsystem.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskQueryServiceTest {
+
+    @Mock
+    private TaskViewRepository taskViewRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private PendingApprovalRepository pendingApprovalRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private TaskQueryService taskQueryService;
+
+    @Test
+    void getTasks_AssemblesViewsInRequestedOrder() {
+        List<Long> ids = Arrays.asList(2L, 1L);
+        LocalDateTime approvedAt = LocalDateTime.now();
+        when(taskViewRepository.findTaskRows(ids)).thenReturn(Arrays.asList(
+                new TaskRow(1L, "First", "d1", TaskStatus.PENDING, 0L, 0, 10L, "Creator", "creator@example.com"),
+                new TaskRow(2L, "Second", "d2", TaskStatus.APPROVED, 2L, 1, 10L, "Creator", "creator@example.com")));
+        when(taskViewRepository.findApproverStatuses(ids)).thenReturn(Arrays.asList(
+                new ApproverStatusRow(1L, 20L, "Approver", "approver@example.com", 5L, approvedAt),
+                new ApproverStatusRow(1L, 21L, "Other", "other@example.com", null, null)));
+
+        List<TaskResponse> result = taskQueryService.getTasks(ids);
+
+        assertThat(result).extracting(TaskResponse::getId).containsExactly(2L, 1L);
+        assertThat(result.get(0).getCommentCount()).isEqualTo(1);
+        assertThat(result.get(0).getVersion()).isEqualTo(2L);
+        assertThat(result.get(1).getCreator().getEmail()).isEqualTo("creator@example.com");
+        assertThat(result.get(1).getApproverStatuses())
+                .extracting(TaskResponse.ApproverStatus::getHasApproved)
+                .containsExactly(true, false);
+        assertThat(result.get(1).getApproverStatuses().get(0).getApprovalDate()).isEqualTo(approvedAt);
+    }
+
+    @Test
+    void getTask_AddsLatestCommentsOldestFirst() {
+        LocalDateTime now = LocalDateTime.now();
+        when(taskViewRepository.findTaskRows(Collections.singletonList(1L))).thenReturn(Collections.singletonList(
+                new TaskRow(1L, "First", null, TaskStatus.PENDING, 4L, 40, null, null, null)));
+        when(taskViewRepository.findLatestComments(1L, Limit.of(2))).thenReturn(Arrays.asList(
+                new CommentResponse(40L, "newest", now, 20L, "Approver", 1L),
+                new CommentResponse(39L, "older", now.minusMinutes(1), 20L, "Approver", 1L)));
+
+        TaskResponse result = taskQueryService.getTask(1L, 2);
+
+        assertThat(result.getCommentCount()).isEqualTo(40);
+        assertThat(result.getLatestComments()).extracting(CommentResponse::getId).containsExactly(39L, 40L);
+    }
+
+    @Test
+    void listComments_ContinuesAfterCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+        String cursor = new CommentCursor(createdAt, 7L).encode();
+        when(taskViewRepository.findCommentsAfter(1L, createdAt, 7L, Limit.of(3))).thenReturn(Arrays.asList(
+                new CommentResponse(8L, "a", createdAt, 20L, "Approver", 1L),
+                new CommentResponse(9L, "b", createdAt.plusSeconds(1), 20L, "Approver", 1L),
+                new CommentResponse(10L, "c", createdAt.plusSeconds(2), 20L, "Approver", 1L)));
+
+        Slice<CommentResponse> result = taskQueryService.listComments(1L, cursor, 2);
+
+        assertThat(result.getContent()).extracting(CommentResponse::getId).containsExactly(8L, 9L);
+        assertThat(result.hasNext()).isTrue();
+    }
+
+    @Test
+    void listComments_UnknownTask() {
+        when(taskViewRepository.findComments(99L, Limit.of(21))).thenReturn(Collections.emptyList());
+        when(taskRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> taskQueryService.listComments(99L, null, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void listComments_RejectsMalformedCursor() {
+        assertThatThrownBy(() -> taskQueryService.listComments(1L, "not-a-cursor", null))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void getTask_NotFound() {
+        when(taskViewRepository.findTaskRows(Collections.singletonList(1L))).thenReturn(Collections.emptyList());
+
+        assertThatThrownBy(() -> taskQueryService.getTask(1L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Task not found");
+    }
+
+    @Test
+    void getVersion_NotFound() {
+        when(taskRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskQueryService.getVersion(1L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void listTasks_FetchesOneExtraIdToDetectMore() {
+        when(taskViewRepository.findIdsNewestFirst(any(Specification.class), eq(3))).thenReturn(Arrays.asList(9L, 8L, 7L));
+        when(taskViewRepository.findTaskRows(Arrays.asList(9L, 8L))).thenReturn(Arrays.asList(
+                new TaskRow(8L, "Eight", null, TaskStatus.PENDING, 0L, 0, null, null, null),
+                new TaskRow(9L, "Nine", null, TaskStatus.PENDING, 0L, 0, null, null, null)));
+
+        TaskPageResponse result = taskQueryService.listTasks(new TaskFilter(), null, 2);
+
+        assertThat(result.getTasks()).extracting(TaskResponse::getId).containsExactly(9L, 8L);
+        assertThat(result.getTasks().get(0).getCreator()).isNull();
+        assertThat(result.isHasMore()).isTrue();
+        assertThat(result.getNextCursor()).isEqualTo("8");
+    }
+
+    @Test
+    void listTasks_CreatedRangePagesByCreationTime() {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        TaskCursor after = new TaskCursor(from.plusDays(3), 40L);
+        when(taskViewRepository.findKeysNewestCreatedFirst(any(Specification.class), eq(3))).thenReturn(Arrays.asList(
+                new TaskCursor(from.plusDays(2), 12L), new TaskCursor(from.plusDays(1), 30L),
+                new TaskCursor(from, 31L)));
+        when(taskViewRepository.findTaskRows(Arrays.asList(12L, 30L))).thenReturn(Arrays.asList(
+                new TaskRow(30L, "Thirty", null, TaskStatus.PENDING, 0L, 0, null, null, null),
+                new TaskRow(12L, "Twelve", null, TaskStatus.PENDING, 0L, 0, null, null, null)));
+
+        TaskPageResponse result = taskQueryService.listTasks(new TaskFilter(null, null, null, from, null),
+                after.encode(), 2);
+
+        assertThat(result.getTasks()).extracting(TaskResponse::getId).containsExactly(12L, 30L);
+        assertThat(TaskCursor.decode(result.getNextCursor())).isEqualTo(new TaskCursor(from.plusDays(1), 30L));
+        verify(taskViewRepository, never()).findIdsNewestFirst(any(), anyInt());
+    }
+
+    @Test
+    void listTasks_RejectsMalformedCursor() {
+        assertThatThrownBy(() -> taskQueryService.listTasks(new TaskFilter(), "not-an-id", null))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> taskQueryService.listTasks(
+                new TaskFilter(null, null, null, null, LocalDateTime.now()), "%%%", null))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void listTasks_EmptyPageSkipsViewQueries() {
+        when(taskViewRepository.findIdsNewestFirst(any(Specification.class), eq(21))).thenReturn(Collections.emptyList());
+
+        TaskPageResponse result = taskQueryService.listTasks(new TaskFilter(), "5", null);
+
+        assertThat(result.getTasks()).isEmpty();
+        assertThat(result.isHasMore()).isFalse();
+        assertThat(result.getNextCursor()).isNull();
+        verify(taskViewRepository, never()).findTaskRows(any());
+    }
+
+    @Test
+    void searchTasks_LoadsOnlyTheMatchedPageInRankOrder() {
+        when(taskSearchIndex.search("budget", 1, 2))
+                .thenReturn(new PageImpl<>(Arrays.asList(7L, 3L), PageRequest.of(1, 2), 5));
+        when(taskViewRepository.findTaskRows(Arrays.asList(7L, 3L))).thenReturn(Arrays.asList(
+                new TaskRow(3L, "Budget", null, TaskStatus.PENDING, 0L, 0, 10L, "Creator", "creator@example.com"),
+                new TaskRow(7L, "Budget review", null, TaskStatus.PENDING, 0L, 0, 10L, "Creator", "creator@example.com")));
+
+        TaskSearchResponse result = taskQueryService.searchTasks("budget", 1, 2);
+
+        assertThat(result.getTasks()).extracting(TaskResponse::getId).containsExactly(7L, 3L);
+        assertThat(result.getTotal()).isEqualTo(5);
+        assertThat(result.isHasMore()).isTrue();
+    }
+
+    @Test
+    void searchTasks_RejectsBlankQuery() {
+        assertThatThrownBy(() -> taskQueryService.searchTasks("  ", null, null))
+                .isInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(taskSearchIndex);
+    }
+
+    @Test
+    void listPendingApprovals_ContinuesBeforeCursor() {
+        when(pendingApprovalRepository.findTaskIdsBefore(20L, 9L, Limit.of(2))).thenReturn(Arrays.asList(7L, 4L));
+        when(taskViewRepository.findTaskRows(Collections.singletonList(7L))).thenReturn(Collections.singletonList(
+                new TaskRow(7L, "Seventh", null, TaskStatus.PENDING, 0L, 0, 10L, "Creator", "creator@example.com")));
+
+        Slice<TaskResponse> result = taskQueryService.listPendingApprovals(20L, 9L, 1);
+
+        assertThat(result.getContent()).extracting(TaskResponse::getId).containsExactly(7L);
+        assertThat(result.hasNext()).isTrue();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void listPendingApprovals_UnknownUser() {
+        when(pendingApprovalRepository.findTaskIds(99L, Limit.of(21))).thenReturn(Collections.emptyList());
+        when(userRepository.existsById(99L)).thenReturn(false);
+
+        assertThatThrownBy(() -> taskQueryService.listPendingApprovals(99L, null, null))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("User not found");
+    }
+
+    @Test
+    void countPendingApprovals_ReadsMaterializedRows() {
+        when(pendingApprovalRepository.countByApproverId(20L)).thenReturn(3L);
+
+        assertThat(taskQueryService.countPendingApprovals(20L)).isEqualTo(3L);
+        verifyNoInteractions(userRepository, taskViewRepository);
+    }
+}
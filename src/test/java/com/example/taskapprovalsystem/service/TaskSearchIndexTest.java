@@ -0,0 +1,100 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.CommentTextRow;
+import com.example.taskapprovalsystem.dto.TaskTextRow;
+import com.example.taskapprovalsystem.repository.TaskViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchIndexTest {
+
+    @Mock
+    private TaskViewRepository taskViewRepository;
+
+    private TaskSearchIndex taskSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        taskSearchIndex = new TaskSearchIndex(taskViewRepository, false);
+    }
+
+    @Test
+    void search_MatchesAllTermsAndRanksTitleAboveDescription() {
+        taskSearchIndex.indexTask(1L, "Office move", "Budget for the new office");
+        taskSearchIndex.indexTask(2L, "Budget review", "Quarterly budget");
+        taskSearchIndex.indexTask(3L, "Team lunch", "Budget approved");
+        taskSearchIndex.indexTask(4L, "Hiring plan", "Two new engineers");
+
+        Page<Long> budget = taskSearchIndex.search("budget", 0, 10);
+        Page<Long> budgetOffice = taskSearchIndex.search("Office, BUDGET!", 0, 10);
+
+        assertThat(budget.getContent()).containsExactly(2L, 3L, 1L);
+        assertThat(budgetOffice.getContent()).containsExactly(1L);
+        assertThat(taskSearchIndex.search("budget engineers", 0, 10).getContent()).isEmpty();
+        assertThat(taskSearchIndex.search("unknown", 0, 10).getTotalElements()).isZero();
+    }
+
+    @Test
+    void indexTask_ReplacesPreviousTitleAndDescription() {
+        taskSearchIndex.indexTask(1L, "Draft contract", "Vendor terms");
+
+        taskSearchIndex.indexTask(1L, "Signed contract", null);
+
+        assertThat(taskSearchIndex.search("draft", 0, 10).getContent()).isEmpty();
+        assertThat(taskSearchIndex.search("vendor", 0, 10).getContent()).isEmpty();
+        assertThat(taskSearchIndex.search("signed contract", 0, 10).getContent()).containsExactly(1L);
+    }
+
+    @Test
+    void indexComment_MakesTaskFindableByCommentText() {
+        taskSearchIndex.indexTask(1L, "Laptop request", null);
+        taskSearchIndex.indexComment(1L, "Please order the 16GB model");
+
+        assertThat(taskSearchIndex.search("laptop 16gb", 0, 10).getContent()).containsExactly(1L);
+    }
+
+    @Test
+    void search_PagesRankedResultsNewestFirstOnTies() {
+        for (long id = 1; id <= 5; id++) {
+            taskSearchIndex.indexTask(id, "Expense report", null);
+        }
+
+        Page<Long> first = taskSearchIndex.search("expense", 0, 2);
+        Page<Long> last = taskSearchIndex.search("expense", 2, 2);
+
+        assertThat(first.getContent()).containsExactly(5L, 4L);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(first.getTotalElements()).isEqualTo(5);
+        assertThat(last.getContent()).containsExactly(1L);
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    void rebuild_LoadsTasksAndCommentsFromDatabase() {
+        taskSearchIndex.indexTask(9L, "Stale entry", null);
+        when(taskViewRepository.findTaskTextAfter(eq(0L), any(Limit.class))).thenReturn(Arrays.asList(
+                new TaskTextRow(1L, "Travel booking", "Flights to Berlin"),
+                new TaskTextRow(2L, "Conference", null)));
+        when(taskViewRepository.findCommentTextAfter(eq(0L), any(Limit.class))).thenReturn(Collections.singletonList(
+                new CommentTextRow(10L, 2L, "Berlin again?")));
+
+        taskSearchIndex.rebuild();
+
+        assertThat(taskSearchIndex.search("berlin", 0, 10).getContent()).containsExactly(1L, 2L);
+        assertThat(taskSearchIndex.search("stale", 0, 10).getContent()).isEmpty();
+    }
+}
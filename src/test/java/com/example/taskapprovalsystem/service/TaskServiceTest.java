@@ -1,19 +1,41 @@
 package com.example.taskapprovalsystem.service;
 
+import com.example.taskapprovalsystem.dto.ApprovalOutcome;
+import com.example.taskapprovalsystem.dto.ApprovalPolicyDTO;
+import com.example.taskapprovalsystem.dto.ApprovalPolicyType;
 import com.example.taskapprovalsystem.dto.CommentDTO;
+import com.example.taskapprovalsystem.dto.TaskApprovalResult;
+import com.example.taskapprovalsystem.dto.TaskApprovalState;
+import com.example.taskapprovalsystem.dto.TaskChangeEvent;
+import com.example.taskapprovalsystem.dto.TaskChangeType;
 import com.example.taskapprovalsystem.dto.TaskDTO;
+import com.example.taskapprovalsystem.dto.TaskUpdateDTO;
+import com.example.taskapprovalsystem.dto.UserSummaryDTO;
 import com.example.taskapprovalsystem.entity.*;
+import com.example.taskapprovalsystem.exception.ConflictException;
+import com.example.taskapprovalsystem.exception.InvalidRequestException;
+import com.example.taskapprovalsystem.exception.PreconditionFailedException;
 import com.example.taskapprovalsystem.exception.ResourceNotFoundException;
 import com.example.taskapprovalsystem.exception.UnauthorizedOperationException;
+import com.example.taskapprovalsystem.repository.ApprovalRepository;
 import com.example.taskapprovalsystem.repository.CommentRepository;
+import com.example.taskapprovalsystem.repository.PendingApprovalRepository;
 import com.example.taskapprovalsystem.repository.TaskRepository;
 import com.example.taskapprovalsystem.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionOperations;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -21,7 +43,11 @@ import java.util.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,11 +60,38 @@ class TaskServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private EmailService emailService;
+    private UserSummaryCache userSummaryCache;
+
+    @Mock
+    private NotificationOutbox notificationOutbox;
 
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private ApprovalRepository approvalRepository;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private PendingApprovalRepository pendingApprovalRepository;
+
+    @Mock
+    private TaskChangeBroadcaster taskChangeBroadcaster;
+
+    @Mock
+    private TaskEventLog taskEventLog;
+
+    @Spy
+    private TransactionOperations transactionOperations = TransactionOperations.withoutTransaction();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private ApprovalPolicies approvalPolicies = new ApprovalPolicies(new SimpleMeterRegistry(), 100);
+
     @InjectMocks
     private TaskService taskService;
 
@@ -89,51 +142,260 @@ class TaskServiceTest {
 
     @Test
     void createTask_Success() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(creator));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(approver));
+        when(userSummaryCache.find(1L)).thenReturn(Optional.of(new UserSummaryDTO(creator)));
+        when(userRepository.findAllById(Set.of(2L))).thenReturn(Collections.singletonList(approver));
         when(taskRepository.save(any(Task.class))).thenReturn(task);
-        doNothing().when(emailService).sendEmail(anyString(), anyString(), anyString());
 
         Task result = taskService.createTask(taskDTO, 1L);
 
         assertThat(result).isNotNull();
         assertThat(result.getTitle()).isEqualTo(taskDTO.getTitle());
         assertThat(result.getStatus()).isEqualTo(TaskStatus.PENDING);
-        verify(emailService, times(2)).sendEmail(anyString(), anyString(), anyString());
+        verify(notificationOutbox).enqueue(eq("TASK_CREATED"), anyString(), anyString(), anyString());
+        verify(notificationOutbox).enqueue(eq("APPROVAL_REQUESTED"), eq("approver@example.com"), anyString(), anyString());
         verify(taskRepository).save(any(Task.class));
+        verify(taskSearchIndex).indexTask(task.getId(), task.getTitle(), task.getDescription());
+        verify(pendingApprovalRepository).addForTasks(List.of(task.getId()));
+        verify(taskEventLog).created(task.getId(), task.getTitle(), task.getDescription(), 1L, List.of(2L));
+    }
+
+    @Test
+    void createTask_StoresCompiledPolicy() {
+        taskDTO.setApproverIds(Arrays.asList(2L, 3L));
+        taskDTO.setApprovalPolicy(new ApprovalPolicyDTO(ApprovalPolicyType.REQUIRED_APPROVERS, 2, null, null, List.of(3L)));
+        when(userSummaryCache.find(1L)).thenReturn(Optional.of(new UserSummaryDTO(creator)));
+        when(userRepository.findAllById(Set.of(2L, 3L))).thenReturn(Arrays.asList(approver, createApprover(3L, "Approver2")));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Task result = taskService.createTask(taskDTO, 1L);
+
+        assertThat(result.getApprovalPolicy()).isEqualTo("REQUIRED_APPROVERS;approvers=2;approvals=2;required=3");
+        assertThat(result.getRequiredRemaining()).isEqualTo(1);
+    }
+
+    @Test
+    void createTask_RejectsUnsatisfiablePolicy() {
+        taskDTO.setApprovalPolicy(new ApprovalPolicyDTO(ApprovalPolicyType.WEIGHTED, null, 5, null, null));
+        when(userSummaryCache.find(1L)).thenReturn(Optional.of(new UserSummaryDTO(creator)));
+        when(userRepository.findAllById(Set.of(2L))).thenReturn(Collections.singletonList(approver));
+
+        assertThatThrownBy(() -> taskService.createTask(taskDTO, 1L))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("less than the minimum weight of 5");
+        verify(taskRepository, never()).save(any(Task.class));
     }
 
     @Test
     void createTask_CreatorNotFound() {
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userSummaryCache.find(999L)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> taskService.createTask(taskDTO, 999L))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Creator not found");
     }
 
     @Test
-    void approveTask_Success() {
+    void createTask_ReportsAllMissingApprovers() {
+        taskDTO.setApproverIds(Arrays.asList(2L, 7L, 5L));
+        when(userSummaryCache.find(1L)).thenReturn(Optional.of(new UserSummaryDTO(creator)));
+        when(userRepository.findAllById(Set.of(2L, 5L, 7L))).thenReturn(Collections.singletonList(approver));
+
+        assertThatThrownBy(() -> taskService.createTask(taskDTO, 1L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Approvers not found: [5, 7]");
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void createTasks_ResolvesApproversWithSingleQuery() {
+        User secondApprover = createApprover(3L, "Approver2");
+        TaskDTO other = new TaskDTO();
+        other.setTitle("Other Task");
+        other.setApproverIds(Arrays.asList(2L, 3L));
+        when(userSummaryCache.find(1L)).thenReturn(Optional.of(new UserSummaryDTO(creator)));
+        when(userRepository.findAllById(Set.of(2L, 3L))).thenReturn(Arrays.asList(approver, secondApprover));
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Task> result = taskService.createTasks(Arrays.asList(taskDTO, other), 1L);
+
+        assertThat(result).hasSize(2);
+        assertThat(result.get(1).getApprovers()).containsExactlyInAnyOrder(approver, secondApprover);
+        verify(userRepository, times(1)).findAllById(any());
+        verify(notificationOutbox).enqueue(eq("APPROVAL_REQUESTED"), eq("approver@example.com"), anyString(),
+                eq("2 new tasks require your approval"));
+        verify(pendingApprovalRepository, times(1)).addForTasks(anyList());
+    }
+
+    @Test
+    void createTasks_RejectsEmptyBatch() {
+        assertThatThrownBy(() -> taskService.createTasks(Collections.emptyList(), 1L))
+                .isInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void updateTask_NotifiesOnlyNewlyAddedApprovers() {
+        User newApprover = createApprover(3L, "Approver2");
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(approver));
+        when(userRepository.findAllById(Set.of(3L))).thenReturn(Collections.singletonList(newApprover));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        Task result = taskService.updateTask(1L, new TaskUpdateDTO(null, null, Arrays.asList(2L, 3L)));
+
+        assertThat(result.getApprovers()).containsExactlyInAnyOrder(approver, newApprover);
+        verify(notificationOutbox).enqueue(eq("APPROVAL_REQUESTED"), eq("approver2@example.com"), anyString(), anyString());
+        verify(notificationOutbox, never()).enqueue(any(), eq("approver@example.com"), any(), any());
+        verify(taskSearchIndex).indexTask(1L, task.getTitle(), task.getDescription());
+        verify(pendingApprovalRepository).addForApprovers(1L, Set.of(3L));
+        verify(taskRepository).markChanged(1L);
+        verify(taskEventLog).approversAdded(1L, Set.of(3L));
+        verify(taskEventLog, never()).detailsUpdated(any(), any(), any());
+    }
+
+    @Test
+    void updateTask_RetriesAfterOptimisticLockConflict() {
+        when(taskRepository.findById(1L))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L))
+                .thenReturn(Optional.of(task));
         when(taskRepository.save(any(Task.class))).thenReturn(task);
 
+        String title = taskService.updateTask(1L, new TaskUpdateDTO("Renamed", null, null), null, Task::getTitle);
+
+        assertThat(title).isEqualTo("Renamed");
+        assertThat(meterRegistry.counter("tasks.optimistic.conflicts", "operation", "update").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void approveTask_GivesUpAfterRepeatedConflicts() {
+        when(taskRepository.findApprovalState(1L)).thenThrow(new ObjectOptimisticLockingFailureException(Task.class, 1L));
+
+        assertThatThrownBy(() -> taskService.approveTask(1L, 2L, Task::getId))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Task was modified concurrently, please retry");
+        verify(taskRepository, times(4)).findApprovalState(1L);
+        assertThat(meterRegistry.counter("tasks.optimistic.retries.exhausted", "operation", "approve").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void approveTask_Success() {
+        stubApprovalPreconditions(2L);
+        task.setApprovalCount(1);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
         Task result = taskService.approveTask(1L, 2L);
 
         assertThat(result).isNotNull();
-        assertThat(result.getApprovals()).hasSize(1);
-        verify(taskRepository).save(any(Task.class));
+        assertThat(result.getStatus()).isEqualTo(TaskStatus.PENDING);
+        verify(approvalRepository).save(argThat(approval ->
+                approval.getApprover() == approver && approval.getTask() == task && approval.isApproved()));
+        verify(taskRepository).recordApproval(1L, 1, 0);
+        verify(pendingApprovalRepository).removeForApprover(2L, List.of(1L));
+        verify(pendingApprovalRepository, never()).removeForTasks(any());
+        verify(taskEventLog).approved(List.of(1L), 2L);
+        verify(taskEventLog, never()).statusChanged(any(), any(), any());
+        verifyNoInteractions(notificationOutbox);
     }
 
     @Test
-    void approveTask_UnauthorizedApprover() {
-        User unauthorizedUser = new User();
-        unauthorizedUser.setId(3L);
+    void approveTask_WaitsForRequiredApprover() {
+        User required = createApprover(3L, "Required");
+        task.setApprovers(new HashSet<>(Arrays.asList(approver, required)));
+        String policy = requiredApproverPolicy(3L);
+        stubApprovalPreconditions(2L);
+        when(taskRepository.findApprovalState(1L)).thenReturn(Optional.of(pendingState(1L, policy)));
+        task.setApprovalPolicy(policy);
+        task.setApprovalCount(1);
+        task.setApprovalWeight(1);
+        task.setRequiredRemaining(1);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        Task result = taskService.approveTask(1L, 2L);
+
+        assertThat(result.getStatus()).isEqualTo(TaskStatus.PENDING);
+        verify(taskRepository).recordApproval(1L, 1, 0);
+        verify(pendingApprovalRepository, never()).removeForTasks(any());
+    }
+
+    @Test
+    void approveTask_RequiredApproverCompletesPolicy() {
+        User required = createApprover(3L, "Required");
+        task.setApprovers(new HashSet<>(Arrays.asList(approver, required)));
+        String policy = requiredApproverPolicy(3L);
+        stubApprovalPreconditions(3L);
+        when(taskRepository.findApprovalState(1L)).thenReturn(Optional.of(pendingState(1L, policy)));
+        task.setApprovalPolicy(policy);
+        task.setApprovalCount(1);
+        task.setApprovalWeight(1);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(userRepository.findById(3L)).thenReturn(Optional.of(unauthorizedUser));
+        when(userSummaryCache.find(1L)).thenReturn(Optional.of(new UserSummaryDTO(creator)));
+
+        Task result = taskService.approveTask(1L, 3L);
+
+        assertThat(result.getStatus()).isEqualTo(TaskStatus.APPROVED);
+        verify(taskRepository).recordApproval(1L, 1, 1);
+        verify(pendingApprovalRepository).removeForTasks(List.of(1L));
+    }
+
+    @Test
+    void approveTask_AddsApproverWeight() {
+        task.setApprovers(new HashSet<>(Arrays.asList(approver, createApprover(3L, "Approver2"))));
+        String policy = approvalPolicies.compile(new ApprovalPolicyDTO(ApprovalPolicyType.WEIGHTED, null, 3,
+                Map.of(2L, 3), null), Set.of(2L, 3L)).encode();
+        stubApprovalPreconditions(2L);
+        when(taskRepository.findApprovalState(1L)).thenReturn(Optional.of(pendingState(1L, policy)));
+        task.setApprovalPolicy(policy);
+        task.setApprovalCount(1);
+        task.setApprovalWeight(3);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(userSummaryCache.find(1L)).thenReturn(Optional.of(new UserSummaryDTO(creator)));
+
+        Task result = taskService.approveTask(1L, 2L);
+
+        assertThat(result.getStatus()).isEqualTo(TaskStatus.APPROVED);
+        verify(taskRepository).recordApproval(1L, 3, 0);
+    }
+
+    @Test
+    void approveTask_TaskNotFound() {
+        when(taskRepository.findApprovalState(99L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> taskService.approveTask(99L, 2L))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Task not found");
+    }
+
+    @Test
+    void approveTask_UnauthorizedApprover() {
+        when(taskRepository.findApprovalState(1L)).thenReturn(Optional.of(pendingState(1L, null)));
+        when(userSummaryCache.find(3L)).thenReturn(Optional.of(new UserSummaryDTO(3L, "Other", "other@example.com")));
+        when(taskRepository.isApprover(1L, 3L)).thenReturn(false);
 
         assertThatThrownBy(() -> taskService.approveTask(1L, 3L))
                 .isInstanceOf(UnauthorizedOperationException.class)
                 .hasMessage("User is not an approver for this task");
+        verify(approvalRepository, never()).save(any());
+    }
+
+    @Test
+    void approveTask_DuplicateApproval() {
+        when(taskRepository.findApprovalState(1L)).thenReturn(Optional.of(pendingState(1L, null)));
+        when(userSummaryCache.find(2L)).thenReturn(Optional.of(new UserSummaryDTO(approver)));
+        when(taskRepository.isApprover(1L, 2L)).thenReturn(true);
+        when(approvalRepository.existsByTaskIdAndApproverId(1L, 2L)).thenReturn(true);
+
+        assertThatThrownBy(() -> taskService.approveTask(1L, 2L))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("User has already approved this task");
+        verify(taskRepository, never()).recordApproval(any(), anyInt(), anyInt());
+        verify(taskChangeBroadcaster, never()).publish(any());
+    }
+
+    @Test
+    void approveTask_ConcurrentDuplicateApproval() {
+        stubApprovalPreconditions(2L);
+        when(approvalRepository.save(any(Approval.class))).thenThrow(new DataIntegrityViolationException("uk_approvals_task_approver"));
+
+        assertThatThrownBy(() -> taskService.approveTask(1L, 2L))
+                .isInstanceOf(ConflictException.class);
     }
 
     @Test
@@ -143,42 +405,121 @@ class TaskServiceTest {
                 createApprover(3L, "Approver2"),
                 createApprover(4L, "Approver3")
         )));
-
+        stubApprovalPreconditions(2L);
+        task.setApprovalCount(3);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(userRepository.findById(2L)).thenReturn(Optional.of(approver));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
-
-        addApproval(task, 3L);
-        addApproval(task, 4L);
+        when(userSummaryCache.find(1L)).thenReturn(Optional.of(new UserSummaryDTO(creator)));
 
         Task result = taskService.approveTask(1L, 2L);
 
         assertThat(result.getStatus()).isEqualTo(TaskStatus.APPROVED);
-        verify(emailService, atLeastOnce()).sendEmail(anyString(), anyString(), anyString());
+        verify(pendingApprovalRepository).removeForTasks(List.of(1L));
+        verify(taskEventLog).statusChanged(List.of(1L), TaskStatus.APPROVED, 2L);
+        verify(notificationOutbox).enqueue(eq("TASK_APPROVED"), eq(creator.getEmail()), anyString(), anyString());
+        verify(notificationOutbox, atLeastOnce()).enqueue(eq("TASK_APPROVED"), anyString(), anyString(), anyString());
     }
 
     @Test
-    void addComment_Success() {
+    void approveTask_PublishesApprovalAndStatusChangeToStream() {
+        stubApprovalPreconditions(2L);
+        task.setApprovalCount(3);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(userRepository.findById(1L)).thenReturn(Optional.of(creator));
-        when(commentRepository.save(any(Comment.class))).thenReturn(comment);
+        when(userSummaryCache.find(1L)).thenReturn(Optional.of(new UserSummaryDTO(creator)));
+        when(taskChangeBroadcaster.hasSubscribers()).thenReturn(true);
+        when(taskChangeBroadcaster.hasApproverSubscribers()).thenReturn(true);
+
+        taskService.approveTask(1L, 2L);
+
+        ArgumentCaptor<TaskChangeEvent> events = ArgumentCaptor.forClass(TaskChangeEvent.class);
+        verify(taskChangeBroadcaster, times(2)).publish(events.capture());
+        assertThat(events.getAllValues()).extracting(TaskChangeEvent::getType)
+                .containsExactly(TaskChangeType.APPROVAL_RECORDED, TaskChangeType.STATUS_CHANGED);
+        assertThat(events.getValue().getStatus()).isEqualTo(TaskStatus.APPROVED);
+        assertThat(events.getValue().getActorId()).isEqualTo(2L);
+        assertThat(events.getValue().getApproverIds()).containsExactly(2L);
+    }
 
-        Comment result = taskService.addComment(1L, 1L, commentDTO);
+    @Test
+    void approveTask_AlreadyApprovedTaskIsNotNotifiedAgain() {
+        stubApprovalPreconditions(2L);
+        task.setApprovalCount(4);
+        task.setStatus(TaskStatus.APPROVED);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
 
-        assertThat(result).isNotNull();
-        assertThat(result.getContent()).isEqualTo(commentDTO.getContent());
-        verify(commentRepository).save(any(Comment.class));
+        taskService.approveTask(1L, 2L);
+
+        verifyNoInteractions(notificationOutbox);
+    }
+
+    @Test
+    void updateTask_RejectsStaleExpectedVersion() {
+        task.setVersion(4);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        assertThatThrownBy(() -> taskService.updateTask(1L, new TaskUpdateDTO("Renamed", null, null), Set.of(3L)))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(task.getTitle()).isEqualTo("Test Task");
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    void approveTasks_ReportsOutcomePerTaskInRequestOrder() {
+        List<Long> ids = Arrays.asList(5L, 1L, 6L, 7L, 8L);
+        when(userSummaryCache.find(2L)).thenReturn(Optional.of(new UserSummaryDTO(approver)));
+        when(taskRepository.findApprovalStatesWithApprover(any(), eq(2L))).thenReturn(Arrays.asList(
+                pendingState(1L, null), pendingState(5L, null), pendingState(6L, null)));
+        when(approvalRepository.findApprovedTaskIds(eq(2L), any())).thenReturn(Collections.singletonList(6L));
+        when(taskRepository.findExistingIds(any())).thenReturn(Arrays.asList(1L, 5L, 6L, 7L));
+        when(taskRepository.findApprovalStates(Arrays.asList(5L, 1L))).thenReturn(Arrays.asList(
+                new TaskApprovalState(5L, TaskStatus.PENDING, null, 1, 1, 0),
+                new TaskApprovalState(1L, TaskStatus.PENDING, null, 3, 3, 0)));
+        task.setApprovers(new HashSet<>(Collections.singletonList(approver)));
+        when(taskRepository.findAllById(Set.of(1L))).thenReturn(Collections.singletonList(task));
+
+        List<TaskApprovalResult> results = taskService.approveTasks(ids, 2L);
+
+        assertThat(results).extracting(TaskApprovalResult::getOutcome).containsExactly(
+                ApprovalOutcome.APPROVED, ApprovalOutcome.FULLY_APPROVED, ApprovalOutcome.ALREADY_APPROVED,
+                ApprovalOutcome.NOT_AN_APPROVER, ApprovalOutcome.NOT_FOUND);
+        verify(approvalRepository).saveAll(argThat(approvals -> ((Collection<?>) approvals).size() == 2));
+        verify(taskRepository).recordApprovals(Arrays.asList(5L, 1L), 1, 0);
+        verify(taskRepository).markApproved(Set.of(1L));
+        verify(pendingApprovalRepository).removeForApprover(2L, Arrays.asList(5L, 1L));
+        verify(pendingApprovalRepository).removeForTasks(Set.of(1L));
+        verify(taskEventLog).approved(Arrays.asList(5L, 1L), 2L);
+        verify(taskEventLog).statusChanged(Set.of(1L), TaskStatus.APPROVED, 2L);
+        verify(notificationOutbox).enqueue(eq("TASK_APPROVED"), eq("test@gmail.com"), anyString(), anyString());
     }
 
     @Test
-    void getAllTasks_Success() {
-        List<Task> tasks = Collections.singletonList(task);
-        when(taskRepository.findAllWithApprovers()).thenReturn(tasks);
+    void approveTasks_NothingToApproveSkipsWrites() {
+        when(userSummaryCache.find(2L)).thenReturn(Optional.of(new UserSummaryDTO(approver)));
+        when(taskRepository.findApprovalStatesWithApprover(any(), eq(2L))).thenReturn(Collections.singletonList(pendingState(1L, null)));
+        when(approvalRepository.findApprovedTaskIds(eq(2L), any())).thenReturn(Collections.singletonList(1L));
 
-        List<Task> result = taskService.getAllTasks();
+        List<TaskApprovalResult> results = taskService.approveTasks(Arrays.asList(1L, 1L), 2L);
 
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).getTitle()).isEqualTo("Test Task");
+        assertThat(results).extracting(TaskApprovalResult::getOutcome).containsExactly(ApprovalOutcome.ALREADY_APPROVED);
+        verify(approvalRepository, never()).saveAll(any());
+        verify(taskRepository, never()).recordApprovals(any(), anyInt(), anyInt());
+        verifyNoInteractions(pendingApprovalRepository);
+    }
+
+    @Test
+    void addComment_Success() {
+        when(taskRepository.incrementCommentCount(1L)).thenReturn(1);
+        when(userSummaryCache.find(1L)).thenReturn(Optional.of(new UserSummaryDTO(creator)));
+        when(commentRepository.save(any(Comment.class))).thenReturn(comment);
+
+        Comment result = taskService.addComment(1L, 1L, commentDTO);
+
+        assertThat(result).isNotNull();
+        assertThat(result.getContent()).isEqualTo(commentDTO.getContent());
+        InOrder inOrder = inOrder(commentRepository, taskRepository);
+        inOrder.verify(commentRepository).save(any(Comment.class));
+        inOrder.verify(taskRepository).markChanged(1L);
+        verify(taskSearchIndex).indexComment(1L, "Test Comment");
+        verify(taskEventLog).commented(1L, 1L, 1L);
     }
 
     private User createApprover(Long id, String name) {
@@ -189,12 +530,30 @@ class TaskServiceTest {
         return approver;
     }
 
-    private void addApproval(Task task, Long approverId) {
-        Approval approval = new Approval();
-        approval.setApprover(createApprover(approverId, "Approver" + approverId));
-        approval.setApprovalDate(LocalDateTime.now());
-        approval.setApproved(true);
-        approval.setTask(task);
-        task.getApprovals().add(approval);
+    private void stubApprovalPreconditions(Long approverId) {
+        when(taskRepository.findApprovalState(1L)).thenReturn(Optional.of(pendingState(1L, null)));
+        when(userSummaryCache.find(approverId)).thenReturn(Optional.of(new UserSummaryDTO(approver)));
+        when(taskRepository.isApprover(1L, approverId)).thenReturn(true);
+        when(approvalRepository.existsByTaskIdAndApproverId(1L, approverId)).thenReturn(false);
+        lenient().when(taskRepository.getReferenceById(1L)).thenReturn(task);
+        lenient().when(userRepository.getReferenceById(approverId)).thenReturn(approver);
+    }
+
+    private String requiredApproverPolicy(Long requiredApproverId) {
+        return approvalPolicies.compile(new ApprovalPolicyDTO(ApprovalPolicyType.REQUIRED_APPROVERS, null, null, null,
+                List.of(requiredApproverId)), Set.of(2L, requiredApproverId)).encode();
+    }
+
+    private static TaskApprovalState pendingState(Long taskId, String approvalPolicy) {
+        return new TaskApprovalState(taskId, TaskStatus.PENDING, approvalPolicy, 0, 0, 0);
+    }
+
+    private Task createTask(Long id) {
+        Task other = new Task();
+        other.setId(id);
+        other.setTitle("Task " + id);
+        other.setStatus(TaskStatus.PENDING);
+        other.setCreator(creator);
+        return other;
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.TaskStatusCount;
+import com.example.taskapprovalsystem.entity.TaskStatus;
+import com.example.taskapprovalsystem.repository.TaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatusMetricsTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TaskStatusMetrics taskStatusMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        taskStatusMetrics = new TaskStatusMetrics(taskRepository, meterRegistry);
+    }
+
+    @Test
+    void refresh_PublishesCountPerStatusAndZeroForMissingStatuses() {
+        when(taskRepository.countTasksByStatus()).thenReturn(Arrays.asList(
+                new TaskStatusCount(TaskStatus.PENDING, 7),
+                new TaskStatusCount(TaskStatus.APPROVED, 3)));
+
+        taskStatusMetrics.refresh();
+
+        assertThat(gauge(TaskStatus.PENDING)).isEqualTo(7.0);
+        assertThat(gauge(TaskStatus.APPROVED)).isEqualTo(3.0);
+        assertThat(gauge(TaskStatus.REJECTED)).isEqualTo(0.0);
+    }
+
+    @Test
+    void refresh_KeepsLastCountsWhenQueryFails() {
+        when(taskRepository.countTasksByStatus())
+                .thenReturn(Collections.singletonList(new TaskStatusCount(TaskStatus.PENDING, 4)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        taskStatusMetrics.refresh();
+        taskStatusMetrics.refresh();
+
+        assertThat(gauge(TaskStatus.PENDING)).isEqualTo(4.0);
+    }
+
+    private double gauge(TaskStatus status) {
+        return meterRegistry.get("tasks.by.status").tag("status", status.name()).gauge().value();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.CommentResponse;
+import com.example.taskapprovalsystem.dto.TaskChangeRow;
+import com.example.taskapprovalsystem.dto.TaskChangesResponse;
+import com.example.taskapprovalsystem.dto.TaskResponse;
+import com.example.taskapprovalsystem.exception.InvalidRequestException;
+import com.example.taskapprovalsystem.repository.TaskViewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSyncServiceTest {
+
+    @Mock
+    private TaskViewRepository taskViewRepository;
+
+    @Mock
+    private TaskQueryService taskQueryService;
+
+    private TaskSyncService taskSyncService;
+
+    // database clock when the rows are read; deliberately far from the application clock
+    private final LocalDateTime readAt = LocalDateTime.of(2030, 1, 1, 12, 0);
+    private final LocalDateTime settled = readAt.minusMinutes(1);
+
+    @BeforeEach
+    void setUp() {
+        taskSyncService = new TaskSyncService(taskViewRepository, taskQueryService, 5000);
+    }
+
+    @Test
+    void listChanges_ReturnsChangedTasksAndTheirNewComments() {
+        when(taskViewRepository.findChangedSince(10L, Limit.of(3))).thenReturn(Arrays.asList(
+                new TaskChangeRow(4L, 11L, settled, readAt), new TaskChangeRow(2L, 14L, settled, readAt),
+                new TaskChangeRow(9L, 15L, settled, readAt)));
+        List<TaskResponse> tasks = Arrays.asList(new TaskResponse(), new TaskResponse());
+        when(taskQueryService.getTasks(Arrays.asList(4L, 2L))).thenReturn(tasks);
+        List<CommentResponse> comments = Collections.singletonList(
+                new CommentResponse(30L, "new", settled, 7L, "Approver", 2L));
+        when(taskViewRepository.findCommentsAddedSince(Arrays.asList(4L, 2L), 10L, 14L)).thenReturn(comments);
+
+        TaskChangesResponse result = taskSyncService.listChanges(10L, 2);
+
+        assertThat(result.getTasks()).isSameAs(tasks);
+        assertThat(result.getComments()).isSameAs(comments);
+        assertThat(result.getNextToken()).isEqualTo(14L);
+        assertThat(result.isHasMore()).isTrue();
+    }
+
+    @Test
+    void listChanges_HoldsBackChangesThatMayNotHaveSettled() {
+        when(taskViewRepository.findChangedSince(0L, Limit.of(101))).thenReturn(Arrays.asList(
+                new TaskChangeRow(1L, 3L, settled, readAt), new TaskChangeRow(2L, 5L, readAt.minusSeconds(1), readAt),
+                new TaskChangeRow(3L, 6L, settled, readAt)));
+
+        TaskChangesResponse result = taskSyncService.listChanges(null, null);
+
+        verify(taskQueryService).getTasks(Collections.singletonList(1L));
+        assertThat(result.getNextToken()).isEqualTo(3L);
+        assertThat(result.isHasMore()).isFalse();
+    }
+
+    @Test
+    void listChanges_NothingNewIssuesOneQuery() {
+        when(taskViewRepository.findChangedSince(42L, Limit.of(101))).thenReturn(Collections.emptyList());
+
+        TaskChangesResponse result = taskSyncService.listChanges(42L, null);
+
+        assertThat(result.getTasks()).isEmpty();
+        assertThat(result.getNextToken()).isEqualTo(42L);
+        verifyNoInteractions(taskQueryService);
+        verify(taskViewRepository, never()).findCommentsAddedSince(any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void listChanges_RejectsNegativeToken() {
+        assertThatThrownBy(() -> taskSyncService.listChanges(-1L, null))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.UserImportError;
+import com.example.taskapprovalsystem.dto.UserImportFormat;
+import com.example.taskapprovalsystem.dto.UserImportResponse;
+import com.example.taskapprovalsystem.entity.User;
+import com.example.taskapprovalsystem.exception.InvalidRequestException;
+import com.example.taskapprovalsystem.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    private PasswordHasher passwordHasher;
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hashed:" + invocation.getArgument(0));
+        passwordHasher = new PasswordHasher(passwordEncoder, new SimpleMeterRegistry(), 2, 4, 1);
+        userImportService = new UserImportService(userRepository, passwordHasher,
+                TransactionOperations.withoutTransaction(), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void importUsers_CsvReportsBadRowsAndImportsTheRest() {
+        String csv = "email,name,password\n" +
+                "a@example.com,\"Smith, Anna\",secret\n" +
+                "taken@example.com,Taken,secret\n" +
+                "not-an-email,Bad,secret\n" +
+                "a@example.com,Again,secret\n" +
+                "b@example.com,Bob,pw\n";
+        when(userRepository.findExistingEmails(any())).thenReturn(List.of("taken@example.com")).thenReturn(List.of());
+
+        UserImportResponse result = userImportService.importUsers(stream(csv), UserImportFormat.CSV);
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(UserImportError::getLine).containsExactlyInAnyOrder(3L, 4L, 5L);
+        ArgumentCaptor<List<User>> saved = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, times(2)).saveAllAndFlush(saved.capture());
+        User anna = saved.getAllValues().get(0).get(0);
+        assertThat(anna.getName()).isEqualTo("Smith, Anna");
+        assertThat(anna.getPassword()).isEqualTo("hashed:secret");
+    }
+
+    @Test
+    void importUsers_NdjsonIsolatesRowsWhenChunkHitsConstraint() {
+        String ndjson = "{\"name\":\"A\",\"email\":\"a@example.com\",\"password\":\"p\"}\n" +
+                "{not json}\n" +
+                "{\"name\":\"B\",\"email\":\"b@example.com\",\"password\":\"p\"}\n";
+        when(userRepository.findExistingEmails(any())).thenReturn(List.of());
+        when(userRepository.saveAllAndFlush(any())).thenThrow(new DataIntegrityViolationException("uk_email"));
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            if (user.getEmail().equals("b@example.com")) {
+                throw new DataIntegrityViolationException("uk_email");
+            }
+            return user;
+        });
+
+        UserImportResponse result = userImportService.importUsers(stream(ndjson), UserImportFormat.NDJSON);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(UserImportError::getError)
+                .containsExactly("Malformed JSON row", "Email already exists");
+    }
+
+    @Test
+    void importUsers_CsvWithoutRequiredHeaderIsRejected() {
+        assertThatThrownBy(() -> userImportService.importUsers(stream("name,email\nA,a@example.com\n"), UserImportFormat.CSV))
+                .isInstanceOf(InvalidRequestException.class);
+        verifyNoInteractions(userRepository);
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
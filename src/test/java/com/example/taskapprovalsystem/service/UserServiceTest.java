@@ -11,7 +11,6 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Arrays;
 import java.util.List;
@@ -28,7 +27,10 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private UserSummaryCache userSummaryCache;
 
     @InjectMocks
     private UserService userService;
@@ -52,7 +54,7 @@ class UserServiceTest {
 
     @Test
     void createUser_Success() {
-        when(passwordEncoder.encode(userDTO.getPassword())).thenReturn("encodedPassword");
+        when(passwordHasher.hash(userDTO.getPassword())).thenReturn("encodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
 
         User createdUser = userService.createUser(userDTO);
@@ -62,8 +64,9 @@ class UserServiceTest {
         assertThat(createdUser.getName()).isEqualTo(userDTO.getName());
         assertThat(createdUser.getEmail()).isEqualTo(userDTO.getEmail());
 
-        verify(passwordEncoder).encode("password123");
+        verify(passwordHasher).hash("password123");
         verify(userRepository).save(any(User.class));
+        verify(userSummaryCache).invalidate(1L);
     }
 
     @Test
@@ -76,7 +79,7 @@ class UserServiceTest {
 
     @Test
     void createUser_WhenRepositoryThrowsException() {
-        when(passwordEncoder.encode(any())).thenReturn("encodedPassword");
+        when(passwordHasher.hash(any())).thenReturn("encodedPassword");
         when(userRepository.save(any())).thenThrow(new RuntimeException("Database error"));
 
         assertThatThrownBy(() -> userService.createUser(userDTO))
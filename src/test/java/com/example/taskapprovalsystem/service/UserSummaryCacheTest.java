@@ -0,0 +1,80 @@
+package com.example.taskapprovalsystem.service;
+
+import com.example.taskapprovalsystem.dto.UserSummaryDTO;
+import com.example.taskapprovalsystem.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserSummaryCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserSummaryCache userSummaryCache;
+    private UserSummaryDTO alice;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userSummaryCache = new UserSummaryCache(userRepository, meterRegistry, 100, Duration.ofMinutes(10));
+        alice = new UserSummaryDTO(1L, "Alice", "alice@example.com");
+    }
+
+    @Test
+    void find_LoadsOnceThenServesFromCache() {
+        when(userRepository.findSummariesByIdIn(Set.of(1L))).thenReturn(Collections.singletonList(alice));
+
+        assertThat(userSummaryCache.find(1L)).contains(alice);
+        assertThat(userSummaryCache.find(1L)).contains(alice);
+
+        verify(userRepository, times(1)).findSummariesByIdIn(any());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "users.summary").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void find_DoesNotCacheUnknownUsers() {
+        when(userRepository.findSummariesByIdIn(Set.of(2L)))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(Collections.singletonList(new UserSummaryDTO(2L, "Bob", "bob@example.com")));
+
+        assertThat(userSummaryCache.find(2L)).isEmpty();
+        assertThat(userSummaryCache.find(2L)).isPresent();
+    }
+
+    @Test
+    void findAll_LoadsOnlyMissesInOneQuery() {
+        when(userRepository.findSummariesByIdIn(Set.of(1L))).thenReturn(Collections.singletonList(alice));
+        userSummaryCache.find(1L);
+        UserSummaryDTO bob = new UserSummaryDTO(2L, "Bob", "bob@example.com");
+        when(userRepository.findSummariesByIdIn(Set.of(2L, 3L))).thenReturn(Collections.singletonList(bob));
+
+        Map<Long, UserSummaryDTO> result = userSummaryCache.findAll(Arrays.asList(1L, 2L, 3L));
+
+        assertThat(result).containsOnlyKeys(1L, 2L);
+        verify(userRepository).findSummariesByIdIn(Set.of(2L, 3L));
+    }
+
+    @Test
+    void invalidate_ForcesReload() {
+        when(userRepository.findSummariesByIdIn(Set.of(1L))).thenReturn(Collections.singletonList(alice));
+        userSummaryCache.find(1L);
+
+        userSummaryCache.invalidate(1L);
+        userSummaryCache.find(1L);
+
+        verify(userRepository, times(2)).findSummariesByIdIn(Set.of(1L));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.taskapprovalsystem.support;
+
+import com.example.taskapprovalsystem.config.SqlStatementCounter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test helpers for asserting how many SQL statements a piece of work issues on the calling thread.
+ * Works around service calls as well as {@code MockMvc} requests, which run on the test thread.
+ */
+public final class SqlStatementCounts {
+
+    private SqlStatementCounts() {
+    }
+
+    public static SqlStatementCounter.Tally count(Work work) throws Exception {
+        SqlStatementCounter.start();
+        try {
+            work.run();
+        } catch (Exception | Error e) {
+            SqlStatementCounter.stop();
+            throw e;
+        }
+        return SqlStatementCounter.stop();
+    }
+
+    /**
+     * Runs the work and fails when it issues more than {@code maxStatements} statements or runs
+     * any single SELECT {@code selectRepeatLimit} times or more.
+     */
+    public static SqlStatementCounter.Tally assertAtMost(int maxStatements, int selectRepeatLimit, Work work)
+            throws Exception {
+        SqlStatementCounter.Tally tally = count(work);
+        assertThat(tally.getStatements())
+                .as("SQL statements issued: %s", tally)
+                .isLessThanOrEqualTo(maxStatements);
+        assertThat(tally.getMaxSelectRepeats())
+                .as("Repeated SELECT (possible N+1): %s", tally.getMostRepeatedSelect())
+                .isLessThan(selectRepeatLimit);
+        return tally;
+    }
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+}